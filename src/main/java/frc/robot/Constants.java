@@ -5,6 +5,7 @@
 package frc.robot;
 
 import frc.robot.utility.ShootCalibrationMap;
+import frc.robot.utility.logging.Log;
 import edu.wpi.first.math.controller.RamseteController;
 import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
 
@@ -109,6 +110,11 @@ public final class Constants {
         public static final double MAXSPEEDMETERS = 6; //Three ball: 1 //Four ball: 4
         public static final double MAXACCELERATIONMETERS = 0.9; //Three ball:1 //Four ball: 1
 
+        // Odometry runs on its own thread at this period, faster than the 20 ms robot loop
+        public static final double ODOMETRY_PERIOD_SECONDS = 0.005;
+        // Odometry samples kept for looking up past poses, about 2.5 s at the odometry rate
+        public static final int POSE_HISTORY_SIZE = 512;
+
 
          //Autonomous
         public static final double kRamseteB = 2; //2
@@ -139,6 +145,77 @@ public final class Constants {
        
     }
 
+    public static final class VisionConstants {
+        // Vision stays out of the pose estimate until CAMERA_YAW_AT_TURRET_ZERO_DEGREES has been
+        // measured on the robot
+        public static final boolean FUSION_ENABLED = false;
+
+        // Field size, with the blue alliance wall at x = 0. Paths are drawn from the blue side.
+        public static final double FIELD_LENGTH_METERS = 16.46;
+        public static final double FIELD_WIDTH_METERS = 8.23;
+        // Center of the hub, in field coordinates
+        public static final double HUB_X_METERS = FIELD_LENGTH_METERS / 2;
+        public static final double HUB_Y_METERS = FIELD_WIDTH_METERS / 2;
+
+        // Time from the shutter to the start of the pipeline, on top of the reported tl
+        public static final double CAPTURE_LATENCY_MS = 11.0;
+        // Camera yaw relative to the robot's front when the turret reads 0 degrees. Turret
+        // degrees are clockwise, like the Limelight's tx, and read 90 where the turret starts.
+        // Not measured yet; see FUSION_ENABLED.
+        public static final double CAMERA_YAW_AT_TURRET_ZERO_DEGREES = 0.0;
+
+        // Only distances the shooter's distance fit was made over are trusted
+        public static final double MIN_DISTANCE_METERS = 1.0;
+        public static final double MAX_DISTANCE_METERS = 7.0;
+        // A fix further than this from where odometry had the robot is thrown out
+        public static final double MAX_ERROR_METERS = 1.0;
+        // Fixes in a row that must agree, to within the tolerance, before the first one moves the
+        // estimate onto the field
+        public static final int SEED_FIXES = 5;
+        public static final double SEED_TOLERANCE_METERS = 0.3;
+
+        // Translation standard deviation is BASE + PER_METER_SQUARED * distance^2; the heading
+        // comes from the gyro, so vision barely affects it
+        public static final double XY_STD_DEV_BASE_METERS = 0.05;
+        public static final double XY_STD_DEV_PER_METER_SQUARED = 0.02;
+        public static final double HEADING_STD_DEV_RADIANS = 10.0;
+    }
+
+    public static final class AutoConstants {
+        // The roboRIO has two cores; more threads than that would only slow the main loop down
+        public static final int TRAJECTORY_LOADER_THREADS = 2;
+    }
+
+    public static final class TelemetryConstants {
+        // How often the background thread pushes the latest dashboard snapshot to NetworkTables
+        public static final double PUBLISH_PERIOD_SECONDS = 0.05;
+        // A loop longer than this counts as an overrun in the loop profiler
+        public static final long LOOP_BUDGET_MICROS = 20000;
+        // The CAN bus status is read once every this many loops
+        public static final int CAN_SAMPLE_LOOPS = 5;
+        // Bus utilization (0 to 1) above which the driver station gets a warning
+        public static final double CAN_UTILIZATION_WARNING = 0.8;
+    }
+
+    public static final class ActuatorConstants {
+        // An unchanged setpoint is still resent this often, in case the device missed or lost it
+        public static final double KEEP_ALIVE_SECONDS = 0.1;
+    }
+
+    public static final class LoggingConstants {
+        public static final String ROBOT_LOG_DIRECTORY = "/home/lvuser/logs";
+        public static final String LOG_FILE_NAME = "telemetry.bin";
+        // About 20 minutes of records at 50 Hz with the current channel count
+        public static final int LOG_FILE_BYTES = 32 * 1024 * 1024;
+
+        // Set to a log file path to replay it in simulation instead of driving normally
+        public static final String REPLAY_LOG_ENV = "REPLAY_LOG";
+        public static final double REPLAY_TOLERANCE = 1e-6;
+
+        // Console messages below this level are skipped before they are even queued
+        public static final Log.Level CONSOLE_LEVEL = Log.Level.INFO;
+    }
+
     public static final class ConversionConstants {
         public static final double SECONDS_PER_MINUTE = 60.0;
         public static final double FEET_TO_METER = 0.3048;
@@ -4,9 +4,25 @@
 
 package frc.robot;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.RobotBase;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.Constants.LoggingConstants;
+import frc.robot.Constants.TelemetryConstants;
+import frc.robot.state.SensorStage;
+import frc.robot.utility.LoopProfiler;
+import frc.robot.utility.NetworkTable.NtTelemetry;
+import frc.robot.utility.NetworkTable.Tunables;
+import frc.robot.utility.can.CanMonitor;
+import frc.robot.utility.logging.DataLogger;
+import frc.robot.utility.logging.Log;
+import frc.robot.utility.logging.LogReader;
 
 /**
  * The VM is configured to automatically run this class, and to call the functions corresponding to
@@ -19,15 +35,52 @@ public class Robot extends TimedRobot {
 
   private RobotContainer m_robotContainer;
 
+  private final LoopProfiler.Section telemetryProfile = LoopProfiler.getInstance().section("NtTelemetry.update()");
+  private final LoopProfiler.Section loggerProfile = LoopProfiler.getInstance().section("DataLogger.log()");
+
+  private static final Log.Site bootLog = Log.site(Log.Level.INFO, "robotInit took {} ms", 0.0);
+
   /**
    * This function is run when the robot is first started up and should be used for any
    * initialization code.
    */
   @Override
   public void robotInit() {
+    long bootStart = System.nanoTime();
+
+    String replayFile = System.getenv(LoggingConstants.REPLAY_LOG_ENV);
+    if (RobotBase.isSimulation() && replayFile != null) {
+      // Nothing is published or logged during a replay; simulationInit runs it and exits
+      try {
+        m_robotContainer = new RobotContainer(LogReader.open(Path.of(replayFile)));
+        return;
+      } catch (IOException ex) {
+        DriverStation.reportError("Unable to open replay log: " + replayFile, ex.getStackTrace());
+      }
+    }
+
     // Instantiate our RobotContainer.  This will perform all our button bindings, and put our
     // autonomous chooser on the dashboard.
     m_robotContainer = new RobotContainer();
+
+    // Registers its dashboard channels before the log's columns are fixed below
+    CanMonitor.getInstance();
+
+    // The mode is logged so a replay can switch modes at the same points
+    DataLogger.getInstance().addBoolean("DriverStation/Enabled", DriverStation::isEnabled);
+    DataLogger.getInstance().addBoolean("DriverStation/Autonomous", DriverStation::isAutonomous);
+
+    // Dashboard values are written to NetworkTables off the main loop from here on.
+    NtTelemetry.getInstance().startPublisher(TelemetryConstants.PUBLISH_PERIOD_SECONDS);
+
+    // Every channel has been registered by now, so the log's columns can be fixed.
+    Path logDirectory = RobotBase.isReal()
+        ? Path.of(LoggingConstants.ROBOT_LOG_DIRECTORY)
+        : Filesystem.getOperatingDirectory().toPath().resolve("logs");
+    DataLogger.getInstance().start(logDirectory.resolve(LoggingConstants.LOG_FILE_NAME), LoggingConstants.LOG_FILE_BYTES);
+
+    // Trajectories are still loading in the background; TrajectoryLoader logs when they're done
+    bootLog.log((System.nanoTime() - bootStart) / 1e6);
   }
 
   /**
@@ -39,19 +92,55 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void robotPeriodic() {
+    LoopProfiler.getInstance().startLoop();
+
+    // Every sensor is read here, once, before any subsystem or command runs.
+    SensorStage.getInstance().sample();
+
+    // Dashboard edits are applied here, once per loop. On the field only operator controls change.
+    Tunables.getInstance().setLocked(DriverStation.isFMSAttached());
+    Tunables.getInstance().update();
+
     // Runs the Scheduler.  This is responsible for polling buttons, adding newly-scheduled
     // commands, running already-scheduled commands, removing finished or interrupted commands,
     // and running subsystem periodic() methods.  This must be called from the robot's periodic
     // block in order for anything in the Command-based framework to work.
     CommandScheduler.getInstance().run();
+
+    // Snapshots every dashboard value in one pass, after the subsystems and commands have run.
+    telemetryProfile.start();
+    NtTelemetry.getInstance().update();
+    telemetryProfile.stop();
+
+    CanMonitor.getInstance().update();
+
+    loggerProfile.start();
+    DataLogger.getInstance().log();
+    loggerProfile.stop();
+
+    LoopProfiler.getInstance().endLoop();
+  }
+
+  @Override
+  public void simulationInit() {
+    if (m_robotContainer.getReplay() != null) {
+      boolean matched = m_robotContainer.getReplay().run(this::loopFunc);
+      System.exit(matched ? 0 : 1);
+    }
   }
 
   /** This function is called once each time the robot enters Disabled mode. */
   @Override
-  public void disabledInit() {}
+  public void disabledInit() {
+    // Make sure the match so far is on disk before the robot can be powered off.
+    DataLogger.getInstance().flush();
+  }
 
   @Override
-  public void disabledPeriodic() {}
+  public void disabledPeriodic() {
+    // The selected auto is built now, so autonomousInit has nothing left to construct
+    m_robotContainer.updateAutoSelection();
+  }
 
   /** This autonomous runs the autonomous command selected by your {@link RobotContainer} class. */
   @Override
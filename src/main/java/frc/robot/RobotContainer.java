@@ -6,26 +6,32 @@ package frc.robot;
 
 import com.revrobotics.ColorSensorV3;
 
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.wpilibj.DigitalInput;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
 import edu.wpi.first.wpilibj.GenericHID;
 import edu.wpi.first.wpilibj.I2C;
 import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.XboxController;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
-import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import frc.robot.Constants.RobotIds;
+import frc.robot.Constants.VisionConstants;
 import frc.robot.commands.ClimbCommand;
 import frc.robot.commands.ConveyorCommand;
 import frc.robot.commands.DriveCommand;
 import frc.robot.commands.IntakeCommand;
 import frc.robot.commands.ShooterCommand;
 import frc.robot.commands.autonomous.AutoClimbCommand;
-import frc.robot.commands.autonomous.paths.FourBallCommandGroup;
+import frc.robot.commands.autonomous.AutoSelector;
 import frc.robot.commands.autonomous.paths.NewFourBallCommandGroup;
 import frc.robot.commands.autonomous.paths.OneBallCommandGroup;
 import frc.robot.commands.autonomous.paths.ThreeBallCommandGroup;
 import frc.robot.commands.autonomous.paths.TwoBallCommandGroup;
 import frc.robot.controls.manualdrive.ManualControls;
+import frc.robot.controls.replay.ReplayControls;
+import frc.robot.state.SensorStage;
 import frc.robot.subsystems.Climb;
 import frc.robot.subsystems.Conveyor;
 import frc.robot.subsystems.DriveTrain;
@@ -33,8 +39,11 @@ import frc.robot.subsystems.Intake;
 import frc.robot.subsystems.Limelight;
 import frc.robot.subsystems.RGBLighting;
 import frc.robot.subsystems.Shooter;
+import frc.robot.subsystems.VisionFusion;
+import frc.robot.utility.LoopProfiler;
+import frc.robot.utility.logging.LogReader;
+import frc.robot.utility.logging.LogReplay;
 import edu.wpi.first.wpilibj2.command.Command;
-import edu.wpi.first.wpilibj2.command.RamseteCommand;
 
 /**
  * This class is where the bulk of the robot should be declared. Since
@@ -74,8 +83,8 @@ public class RobotContainer {
   private final Joystick xbox = new Joystick(0);
   private final Joystick controlStation = new Joystick(1);
 
-  // A chooser for autonomous commands
-  SendableChooser<Command> m_chooser = new SendableChooser<>();
+  // A chooser for autonomous commands. Only the selected one is built.
+  private final AutoSelector m_chooser = new AutoSelector();
 
   // declare paths
   // private AutoUtil path1 = new AutoUtil("paths/output/Test1.wpilib.json",
@@ -100,22 +109,32 @@ public class RobotContainer {
 
   private final AutoClimbCommand autoClimb = new AutoClimbCommand(climb);
 
-  private final RamseteCommand nullCommand = null;
-  private final OneBallCommandGroup oneBallCommandGroup;
-  private final TwoBallCommandGroup twoBallCommandGroup;
-  private final ThreeBallCommandGroup threeBallCommandGroup;
-  private final FourBallCommandGroup fourBallCommandGroup;
-  private final NewFourBallCommandGroup newFourBallCommandGroup;
-
   private final RGBLighting rgbLighting;
+  private final VisionFusion visionFusion;
+
+  private LogReplay replay = null;
 
   /**
    * The container for the robot. Contains subsystems, OI devices, and commands.
    */
   public RobotContainer() {
+    this(null);
+  }
+
+  /**
+   * @param replayLog a recorded match to take driver and sensor inputs from, or null to drive
+   *     the robot normally
+   */
+  public RobotContainer(LogReader replayLog) {
     // Configure the button bindings
     configureButtonBindings();
-    controls = new ManualControls(xbox, controlStation);
+    if (replayLog == null) {
+      controls = new ManualControls(xbox, controlStation);
+    } else {
+      ReplayControls replayControls = new ReplayControls(xbox, controlStation, replayLog);
+      replay = new LogReplay(replayLog, replayControls, driveTrain.startReplay(), shooter.startReplay());
+      controls = replayControls;
+    }
 
     manualDrive = new DriveCommand(driveTrain, controls);
     driveTrain.setDefaultCommand(manualDrive);
@@ -134,25 +153,32 @@ public class RobotContainer {
     manualClimb = new ClimbCommand(climb, controls, autoClimb);
     climb.setDefaultCommand(manualClimb);
 
-    oneBallCommandGroup =  new OneBallCommandGroup(driveTrain, conveyor, shooter, limelight);
-    twoBallCommandGroup = new TwoBallCommandGroup(driveTrain, intake, conveyor, shooter, limelight);
-    threeBallCommandGroup = new ThreeBallCommandGroup(driveTrain, intake, conveyor, shooter, limelight);
-    fourBallCommandGroup = new FourBallCommandGroup(driveTrain, intake, conveyor, shooter, limelight);
-    newFourBallCommandGroup = new NewFourBallCommandGroup(driveTrain, intake, conveyor, shooter, limelight);
+    // Their profiler sections are set up now rather than on their first run
+    LoopProfiler profiler = LoopProfiler.getInstance();
+    profiler.register(manualDrive);
+    profiler.register(manualShooter);
+    profiler.register(manualIntake);
+    profiler.register(manualConveyor);
+    profiler.register(manualClimb);
+    profiler.register(autoClimb);
 
     rgbLighting = new RGBLighting();
+    visionFusion = new VisionFusion(driveTrain, shooter);
+
+    SensorStage.getInstance().register(driveTrain, shooter, conveyor, climb, limelight);
 
     // Add commands to the autonomous command chooser
-    m_chooser.setDefaultOption("New Four Ball", newFourBallCommandGroup.getCommand());
+    m_chooser.setDefaultOption("New Four Ball",
+        () -> new NewFourBallCommandGroup(driveTrain, intake, conveyor, shooter, limelight));
 
-    m_chooser.addOption("One Ball", oneBallCommandGroup.getCommand());
-    m_chooser.addOption("Two Ball", twoBallCommandGroup.getCommand());
-    m_chooser.addOption("Three Ball", threeBallCommandGroup.getCommand());
-    m_chooser.addOption("Nothing", nullCommand);
+    m_chooser.addOption("One Ball", () -> new OneBallCommandGroup(driveTrain, conveyor, shooter, limelight));
+    m_chooser.addOption("Two Ball", () -> new TwoBallCommandGroup(driveTrain, intake, conveyor, shooter, limelight));
+    m_chooser.addOption("Three Ball", () -> new ThreeBallCommandGroup(driveTrain, intake, conveyor, shooter, limelight));
+    m_chooser.addOption("Nothing", () -> null);
 
 
     // Put the chooser on the dashboard
-    Shuffleboard.getTab("Auto Choose").add(m_chooser);
+    Shuffleboard.getTab("Auto Choose").add(m_chooser.getChooser());
   }
 
   /**
@@ -172,6 +198,30 @@ public class RobotContainer {
    * @return the command to run in autonomous
    */
   public Command getAutonomousCommand() {
-    return m_chooser.getSelected();
+    Command command = m_chooser.getCommand();
+
+    // The robot is sitting at the routine's start now, which gives the pose estimate its field
+    // heading. Paths are drawn from the blue side; the red start is the same spot turned about
+    // the field's center.
+    Pose2d start = m_chooser.getStartingPose();
+    Alliance alliance = DriverStation.getAlliance();
+    if(start != null && alliance == Alliance.Red){
+      start = new Pose2d(VisionConstants.FIELD_LENGTH_METERS - start.getX(), VisionConstants.FIELD_WIDTH_METERS - start.getY(),
+          start.getRotation().plus(Rotation2d.fromDegrees(180)));
+    }
+    if(start != null && alliance != Alliance.Invalid){
+      driveTrain.setStartingPose(start);
+    }
+    return command;
+  }
+
+  /** Loads the selected autonomous routine if the selection changed, and builds it once loaded. */
+  public void updateAutoSelection() {
+    m_chooser.update();
+  }
+
+  /** @return the replay of the log this was created with, or null when driving normally */
+  public LogReplay getReplay() {
+    return replay;
   }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -53,14 +53,18 @@ public class ConveyorCommand extends CommandBase {
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
+    // Both only change between loops, so they're read once here
+    boolean shooterReady = shooter.isShooterReady();
+    boolean ballAtTop = conveyor.getSensor();
+
     if (controls.getBallChainReverse()){
       conveyor.setConveyor(-conveyorSpeed);
       conveyor.setOverHead(-overHeadSpeed);
 
-    } else if (controls.getConveyorMotor() || controls.isIntakeEngaged() || (controls.getFeedShooter() && shooter.isShooterReady())){  // if ballchain, intake, or shooter_feeding is on, run transfer
+    } else if (controls.getConveyorMotor() || controls.isIntakeEngaged() || (controls.getFeedShooter() && shooterReady)){  // if ballchain, intake, or shooter_feeding is on, run transfer
 
-      if(!conveyor.getSensor() || (controls.getFeedShooter() && shooter.isShooterReady()) || controls.getBallChainReverse()){
-        conveyor.setConveyor(conveyorSpeed * (shooter.isShooterReady() ? 1.5 : 1));
+      if(!ballAtTop || (controls.getFeedShooter() && shooterReady) || controls.getBallChainReverse()){
+        conveyor.setConveyor(conveyorSpeed * (shooterReady ? 1.5 : 1));
 
       }else{
         conveyor.setConveyor(0.0);
@@ -68,7 +72,7 @@ public class ConveyorCommand extends CommandBase {
 
       conveyor.setOverHead(overHeadSpeed);
 
-      if(conveyorTopSensorLast && !conveyor.getSensor()){
+      if(conveyorTopSensorLast && !ballAtTop){
         shooter.increaseBallCount();
       }
 
@@ -77,7 +81,7 @@ public class ConveyorCommand extends CommandBase {
       conveyor.setOverHead(0.0);
     }
 
-    conveyorTopSensorLast = conveyor.getSensor();
+    conveyorTopSensorLast = ballAtTop;
   }
 
   // Called once the command ends or is interrupted.
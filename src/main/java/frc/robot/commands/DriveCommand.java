@@ -6,6 +6,7 @@ package frc.robot.commands;
 
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.DriveTrain;
+import frc.robot.utility.NetworkTable.NtTelemetry;
 
 import static frc.robot.utility.NetworkTable.NtValueDisplay.ntDispTab;
 
@@ -37,10 +38,11 @@ public class DriveCommand extends CommandBase {
     
 
     ntDispTab("Joystick")
-      .add("X Joystick", () -> controls.getX())
-      .add("Y Joystick", () -> controls.getY())
-      .add("Speed", () -> controls.getSpeed())
-      .add("Turn Speed", () -> controls.getTurnSpeed());
+      .rate(NtTelemetry.Rate.HZ_10)
+      .addDouble("X Joystick", controls::getX)
+      .addDouble("Y Joystick", controls::getY)
+      .addDouble("Speed", controls::getSpeed)
+      .addDouble("Turn Speed", controls::getTurnSpeed);
   }
 
   
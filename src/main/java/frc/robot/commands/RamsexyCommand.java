@@ -8,17 +8,17 @@ import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
 
 import edu.wpi.first.math.controller.RamseteController;
 import edu.wpi.first.math.geometry.Pose2d;
-import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
-import edu.wpi.first.math.kinematics.DifferentialDriveWheelSpeeds;
 import edu.wpi.first.math.trajectory.Trajectory;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import edu.wpi.first.wpilibj2.command.Subsystem;
+import frc.robot.state.PoseState;
 import frc.robot.utility.AutoWrapperInterface;
-
-import java.util.function.BiConsumer;
-import java.util.function.Supplier;
+import frc.robot.utility.RamseteFollower;
+import frc.robot.utility.TrajectorySampler;
+import frc.robot.utility.logging.Log;
 
 /**
  * A command that uses a RAMSETE controller ({@link RamseteController}) to
@@ -44,17 +44,29 @@ import java.util.function.Supplier;
  * This class is provided by the NewCommands VendorDep
  */
 public class RamsexyCommand extends CommandBase {
+  private static final Log.Site poseLog = Log.site(Log.Level.DEBUG, "Current: {} Trajectory: {}", 0.1);
+  private static final Log.Site speedLog = Log.site(Log.Level.DEBUG, "Target Speed L: {} R: {}", 0.1);
+  private static final Log.Site accelLog = Log.site(Log.Level.DEBUG, "Target Accel L: {} R: {}", 0.1);
+
   private final Timer m_timer = new Timer();
 
   private Trajectory m_trajectory;
+  private final TrajectorySampler m_sampler = new TrajectorySampler();
   private AutoWrapperInterface autoWrapper;
-  private final Supplier<Pose2d> m_pose;
-  private final RamseteController m_follower;
+  private final PoseState m_pose;
+  private final RamseteFollower m_follower;
   private final DifferentialDriveKinematics m_kinematics;
-  private final BiConsumer<double[], double[]> m_output;
-  private DifferentialDriveWheelSpeeds m_prevSpeeds;
+  private final WheelOutput m_output;
+  private double m_prevLeftSpeed;
+  private double m_prevRightSpeed;
   private double m_prevTime;
 
+  /** Takes the wheel speed and acceleration setpoints, in meters per second (squared). */
+  @FunctionalInterface
+  public interface WheelOutput {
+    void set(double leftSpeed, double leftAccel, double rightSpeed, double rightAccel);
+  }
+
   /**
    * Constructs a new RamseteCommand that, when executed, will follow the provided
    * trajectory.
@@ -63,28 +75,31 @@ public class RamsexyCommand extends CommandBase {
    * the RAMSETE controller, and will need to be converted into a usable form by
    * the user.
    *
-   * @param trajectory            The trajectory to follow.
-   * @param pose                  A function that supplies the robot pose - use
-   *                              one of the odometry classes to
-   *                              provide this.
+   * <p>
+   * Everything is passed around as plain numbers, so following a path allocates
+   * nothing once it has started.
+   *
+   * @param autoWrapper           Supplies the trajectory to follow.
+   * @param pose                  The robot pose, kept up to date in place by its
+   *                              owner - use the drivetrain's pose state.
    * @param follower              The RAMSETE follower used to follow the
    *                              trajectory.
    * @param kinematics            The kinematics for the robot drivetrain.
-   * @param outputMetersPerSecond A function that consumes the computed left and
-   *                              right wheel speeds.
+   * @param output                Takes the computed left and right wheel
+   *                              speeds and accelerations.
    * @param requirements          The subsystems to require.
    */
   public RamsexyCommand(
       AutoWrapperInterface autoWrapper,
-      Supplier<Pose2d> pose,
-      RamseteController follower,
+      PoseState pose,
+      RamseteFollower follower,
       DifferentialDriveKinematics kinematics,
-      BiConsumer<double[], double[]> outputMetersPerSecond,
+      WheelOutput output,
       Subsystem... requirements) {
     m_pose = requireNonNullParam(pose, "pose", "RamseteCommand");
     m_follower = requireNonNullParam(follower, "follower", "RamseteCommand");
     m_kinematics = requireNonNullParam(kinematics, "kinematics", "RamseteCommand");
-    m_output = requireNonNullParam(outputMetersPerSecond, "outputMetersPerSecond", "RamseteCommand");
+    m_output = requireNonNullParam(output, "output", "RamseteCommand");
     this.autoWrapper = autoWrapper;
 
     addRequirements(requirements);
@@ -92,14 +107,17 @@ public class RamsexyCommand extends CommandBase {
 
   @Override
   public void initialize() {
+    // The path is followed from wherever the robot is now. Only sampled poses get moved there, so
+    // starting a segment doesn't copy the whole trajectory.
     m_trajectory = autoWrapper.getTrajectory();
+    m_sampler.reset(m_trajectory, m_pose.x, m_pose.y, m_pose.headingRadians);
     m_prevTime = -1;
-    var initialState = m_trajectory.sample(0);
-    m_prevSpeeds = m_kinematics.toWheelSpeeds(
-        new ChassisSpeeds(
-            initialState.velocityMetersPerSecond,
-            0,
-            initialState.curvatureRadPerMeter * initialState.velocityMetersPerSecond));
+
+    m_sampler.sample(0);
+    double velocity = m_sampler.getVelocityMetersPerSecond();
+    double halfTurn = velocity * m_sampler.getCurvatureRadPerMeter() * m_kinematics.trackWidthMeters / 2;
+    m_prevLeftSpeed = velocity - halfTurn;
+    m_prevRightSpeed = velocity + halfTurn;
     m_timer.reset();
     m_timer.start();
   }
@@ -110,31 +128,33 @@ public class RamsexyCommand extends CommandBase {
     double dt = curTime - m_prevTime;
 
     if (m_prevTime < 0) {
-      m_output.accept(new double[] { 0.0, 0.0 }, new double[] { 0.0, 0.0 });
+      m_output.set(0.0, 0.0, 0.0, 0.0);
       m_prevTime = curTime;
       return;
     }
 
-    var targetWheelSpeeds = m_kinematics.toWheelSpeeds(
-        m_follower.calculate(m_pose.get(), m_trajectory.sample(curTime)));
-
-    
-    var leftSpeedSetpoint = targetWheelSpeeds.leftMetersPerSecond;
-    var rightSpeedSetpoint = targetWheelSpeeds.rightMetersPerSecond;
-    var leftAccelSetpoint = (leftSpeedSetpoint - m_prevSpeeds.leftMetersPerSecond) / dt;
-    var rightAccelSetpoint = (rightSpeedSetpoint - m_prevSpeeds.rightMetersPerSecond) / dt;
-
-    System.out.println("Current: " + m_pose.get());
-    System.out.println("Trajectory: " + m_trajectory.sample(curTime).poseMeters);
-    System.out.println("Left Target Speed: " + leftSpeedSetpoint);
-    System.out.println("Right Target Speed: " + rightSpeedSetpoint);
-    System.out.println("Left Target Accel: " + leftAccelSetpoint);
-    System.out.println("Right Target Accel: " + rightAccelSetpoint);
-
-    System.out.println("-------------------------------");
+    m_sampler.sample(curTime);
+    double desiredVelocity = m_sampler.getVelocityMetersPerSecond();
+    m_follower.calculate(m_pose.x, m_pose.y, m_pose.headingRadians,
+        m_sampler.getX(), m_sampler.getY(), m_sampler.getHeadingRadians(),
+        desiredVelocity, desiredVelocity * m_sampler.getCurvatureRadPerMeter());
+
+    // Differential drive inverse kinematics
+    double halfTurn = m_follower.getAngularRadiansPerSecond() * m_kinematics.trackWidthMeters / 2;
+    double leftSpeedSetpoint = m_follower.getLinearMetersPerSecond() - halfTurn;
+    double rightSpeedSetpoint = m_follower.getLinearMetersPerSecond() + halfTurn;
+    double leftAccelSetpoint = (leftSpeedSetpoint - m_prevLeftSpeed) / dt;
+    double rightAccelSetpoint = (rightSpeedSetpoint - m_prevRightSpeed) / dt;
+
+    if (poseLog.isEnabled()) {
+      poseLog.log(new Pose2d(m_pose.x, m_pose.y, new Rotation2d(m_pose.headingRadians)), m_sampler.getPose());
+    }
+    speedLog.log(leftSpeedSetpoint, rightSpeedSetpoint);
+    accelLog.log(leftAccelSetpoint, rightAccelSetpoint);
 
-    m_output.accept(new double[]{leftSpeedSetpoint, leftAccelSetpoint}, new double[]{rightSpeedSetpoint, rightAccelSetpoint});
-    m_prevSpeeds = targetWheelSpeeds;
+    m_output.set(leftSpeedSetpoint, leftAccelSetpoint, rightSpeedSetpoint, rightAccelSetpoint);
+    m_prevLeftSpeed = leftSpeedSetpoint;
+    m_prevRightSpeed = rightSpeedSetpoint;
     m_prevTime = curTime;
   }
 
@@ -143,7 +163,7 @@ public class RamsexyCommand extends CommandBase {
     m_timer.stop();
 
     if (interrupted) {
-      m_output.accept(new double[] { 0.0, 0.0 }, new double[] { 0.0, 0.0 });
+      m_output.set(0.0, 0.0, 0.0, 0.0);
     }
   }
 
@@ -151,4 +171,4 @@ public class RamsexyCommand extends CommandBase {
   public boolean isFinished() {
     return m_timer.hasElapsed(m_trajectory.getTotalTimeSeconds());
   }
-}
\ No newline at end of file
+}
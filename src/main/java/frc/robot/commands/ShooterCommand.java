@@ -16,11 +16,13 @@ import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.util.Color;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.Shooter;
-import frc.robot.utility.ShootCalibrationMap;
 import frc.robot.Constants;
 import frc.robot.RobotContainer;
 import frc.robot.commands.autonomous.AutonomousController;
 import frc.robot.subsystems.Limelight;
+import frc.robot.state.ClimbState;
+import frc.robot.state.StateBus;
+import frc.robot.utility.NetworkTable.Tunables;
 
 public class ShooterCommand extends CommandBase {
 
@@ -52,16 +54,15 @@ public class ShooterCommand extends CommandBase {
   private final double ballMissRPM = 500;
  
   private NetworkTable ntTable;
-  private NetworkTable ntTableClimb;
-  private NetworkTableEntry ntTestRPM;
-  private NetworkTableEntry ntTestHood;
+  private Tunables.DoubleParam ntTestRPM;
+  private Tunables.DoubleParam ntTestHood;
 
-  private NetworkTableEntry ntUseCalibrationMap;
+  private Tunables.BooleanParam ntUseCalibrationMap;
 
-  private NetworkTableEntry hotRPMAddition;
+  private Tunables.DoubleParam hotRPMAddition;
   private NetworkTableEntry hotRPMReduction;
 
-  private NetworkTableEntry ntTeleopBuff;
+  private Tunables.DoubleParam ntTeleopBuff;
 
   private final double IDLE_RPM = 1000;
   private final double AutoBaseRPMBuff = 100;
@@ -90,22 +91,18 @@ public class ShooterCommand extends CommandBase {
 
     
     this.ntTable = NetworkTableInstance.getDefault().getTable("Shooter");
-    this.ntTableClimb = NetworkTableInstance.getDefault().getTable("Climb");
 
-    ntTestHood = ntTable.getEntry("Hood Angle");
-    ntTestHood.setDouble(0.0);
+    Tunables tunables = Tunables.getInstance();
 
-    ntTestRPM = ntTable.getEntry("Target Cal RPM");
-    ntTestRPM.setDouble(0.0);
+    ntTestHood = tunables.addDouble("Shooter", "Hood Angle", 0.0);
 
-    ntUseCalibrationMap = ntTable.getEntry("Use calibration map?");
-    ntUseCalibrationMap.setBoolean(true);
+    ntTestRPM = tunables.addDouble("Shooter", "Target Cal RPM", 0.0);
 
-    hotRPMAddition = ntTable.getEntry("hot RPM Addition");
-    hotRPMAddition.setDouble(35.0);
+    ntUseCalibrationMap = tunables.addBoolean("Shooter", "Use calibration map?", true);
 
-    ntTeleopBuff = ntTable.getEntry("Teleop RPM Buff");
-    ntTeleopBuff.setDouble(0);
+    hotRPMAddition = tunables.addOperatorDouble("Shooter", "hot RPM Addition", 35.0);
+
+    ntTeleopBuff = tunables.addOperatorDouble("Shooter", "Teleop RPM Buff", 0);
     
 
     isRedAlliance =  NetworkTableInstance.getDefault().getTable("FMSInfo").getEntry("IsRedAlliance").getBoolean(false);
@@ -152,14 +149,14 @@ public class ShooterCommand extends CommandBase {
     if(controls.getAimShooter() || controls.getConstantAiming()) {
       
       if (controls.getAimShooter()) {
-        TeleOpBaseRPMBuff = ntTeleopBuff.getDouble(0.0);
+        TeleOpBaseRPMBuff = ntTeleopBuff.get();
 
         rpmBuff = isAuto ? AutoBaseRPMBuff : TeleOpBaseRPMBuff;
 
         if(controls.getHotRPMAddition()){
-          rpmBuff += hotRPMAddition.getDouble(0.0);
+          rpmBuff += hotRPMAddition.get();
         } else if(controls.getHotRPMReduction()) {
-          rpmBuff += -hotRPMAddition.getDouble(0.0);          
+          rpmBuff += -hotRPMAddition.get();          
         }
 
         if(missBall || controls.getManualMiss()) {
@@ -205,7 +202,8 @@ public class ShooterCommand extends CommandBase {
     if(targetBallCount != -1 && shooter.getBallShotCount() >= targetBallCount) doneShootingFrames++;
 
     
-    if (ntTableClimb.getEntry("Left Climb Pos").getDouble(0.0) > 8.0 && ntTableClimb.getEntry("Right Climb Pos").getDouble(0.0) > 8.0) {
+    ClimbState climbState = StateBus.CLIMB.get();
+    if (climbState.leftPositionInches > 8.0 && climbState.rightPositionInches > 8.0) {
       shooter.setTurretPos(90.0); // turret is at 90 degrees when both climb arms are extended
     }
 
@@ -219,35 +217,19 @@ public class ShooterCommand extends CommandBase {
   }
 
   public double getShooterRpm(double distance) {
-    if(ntUseCalibrationMap.getBoolean(false)){
-      ShootCalibrationMap.Trajectory traj;
-      try {
-        // traj = Constants.ShooterCalibrations.SHOOT_CALIBRATION_MAP.get(distance);
-        traj = Constants.ShooterCalibrations.SHOOT_CALIBRATION_MAP.getWithRpmAdjustment(distance, rpmBuff, rpmBuffZeta);
-        
-      } catch (ShootCalibrationMap.OutOfBoundsException e) {
-        return 0.0;
-      }
-
-      return traj.shooterRpm;
+    if(ntUseCalibrationMap.get()){
+      // traj = Constants.ShooterCalibrations.SHOOT_CALIBRATION_MAP.get(distance);
+      return Constants.ShooterCalibrations.SHOOT_CALIBRATION_MAP.getShooterRpmWithAdjustment(distance, rpmBuff, rpmBuffZeta);
     }
-    return ntTestRPM.getDouble(0.0);
+    return ntTestRPM.get();
     // return distance; //TODO: add function
   }
 
   public double getShooterHoodAngle(double distance) {
-    if(ntUseCalibrationMap.getBoolean(false)){
-      ShootCalibrationMap.Trajectory traj;
-      try {
-        traj = Constants.ShooterCalibrations.SHOOT_CALIBRATION_MAP.get(distance);
-        
-      } catch (ShootCalibrationMap.OutOfBoundsException e) {
-        return 0.0;
-      }
-
-      return traj.hoodPos;
+    if(ntUseCalibrationMap.get()){
+      return Constants.ShooterCalibrations.SHOOT_CALIBRATION_MAP.getHoodPos(distance);
     }
-    return ntTestHood.getDouble(0.0); 
+    return ntTestHood.get(); 
   }
 
   public boolean doneShooting(){
@@ -7,8 +7,11 @@ package frc.robot.commands.autonomous;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.Climb;
+import frc.robot.utility.logging.Log;
 
 public class AutoClimbCommand extends CommandBase {
+  private static final Log.Site phaseLog = Log.site(Log.Level.INFO, "Auto climb phase: {}", 0.0);
+
   /** Creates a new AutoClimbCommand. */
   private final Climb climb;
 
@@ -54,7 +57,7 @@ public class AutoClimbCommand extends CommandBase {
       if(leftPos > UPPER_HEIGHT - (cycles == 0 ? 4 : 0) || rightPos > UPPER_HEIGHT - (cycles == 0 ? 4 : 0)){
         autoClimbPhase ++;
         
-        System.out.println("\n\n\n\n1: Phase: " + autoClimbPhase);
+        phaseLog.log(autoClimbPhase);
       }
     } else if(autoClimbPhase == 1){
       climb.setExtensionMotors(0);
@@ -69,7 +72,7 @@ public class AutoClimbCommand extends CommandBase {
         pauseTime = -1;
         autoClimbPhase++;
         
-        System.out.println("\n\n\n\n3: Phase: " + autoClimbPhase);
+        phaseLog.log(autoClimbPhase);
       }
     } else if(autoClimbPhase == 2){
       climb.setRotatorPiston(false);
@@ -78,7 +81,7 @@ public class AutoClimbCommand extends CommandBase {
       if(leftPos < LOWER_HEIGHT || rightPos < LOWER_HEIGHT){
         autoClimbPhase ++;
         
-        System.out.println("\n\n\n\n2: Phase: " + autoClimbPhase);
+        phaseLog.log(autoClimbPhase);
       }
     } else if(autoClimbPhase == 3){
       climb.setExtensionMotors(0);
@@ -93,7 +96,7 @@ public class AutoClimbCommand extends CommandBase {
         autoClimbPhase++;
         cycles++;
         
-        System.out.println("\n\n\n\n3: Phase: " + autoClimbPhase);
+        phaseLog.log(autoClimbPhase);
       }
     }
 
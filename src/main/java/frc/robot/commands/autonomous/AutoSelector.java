@@ -0,0 +1,126 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.commands.autonomous;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.commands.autonomous.paths.CommandGroupInterface;
+import frc.robot.utility.LoopProfiler;
+import frc.robot.utility.logging.Log;
+
+/**
+ * The autonomous chooser, holding a way to build each routine rather than the routines themselves.
+ * Only the selected routine is built, when {@link #update()} (called while disabled) sees the
+ * selection change. Its trajectories load on the {@link frc.robot.utility.TrajectoryLoader}
+ * threads; everything else, the routine's commands included, is made on the robot thread once
+ * they have, since WPILib's command groups and requirements aren't thread safe. The finished
+ * command is kept until the selection changes again, so autonomousInit just picks it up.
+ */
+public class AutoSelector {
+  private static final Log.Site builtLog = Log.site(Log.Level.INFO, "Built autonomous routine {} in {} ms", 0.0);
+
+  private static class Routine {
+    final String name;
+    final Supplier<CommandGroupInterface> factory;
+
+    Routine(String name, Supplier<CommandGroupInterface> factory) {
+      this.name = name;
+      this.factory = factory;
+    }
+  }
+
+  private final SendableChooser<Routine> chooser = new SendableChooser<>();
+
+  private Routine requested = null;
+  // The selected routine while its trajectories load; null once its command is built
+  private CommandGroupInterface pending = null;
+  private CompletableFuture<?> loaded = CompletableFuture.completedFuture(null);
+  private long requestedNanos;
+  private Command command = null;
+  private Pose2d startingPose = null;
+
+  /** @param factory creates the routine, or returns null for a routine that does nothing */
+  public void setDefaultOption(String name, Supplier<CommandGroupInterface> factory) {
+    chooser.setDefaultOption(name, new Routine(name, factory));
+  }
+
+  public void addOption(String name, Supplier<CommandGroupInterface> factory) {
+    chooser.addOption(name, new Routine(name, factory));
+  }
+
+  public SendableChooser<?> getChooser() {
+    return chooser;
+  }
+
+  /**
+   * Starts loading the selected routine's trajectories if the selection changed, and builds its
+   * command once they're loaded. Call from disabledPeriodic.
+   */
+  public void update() {
+    Routine selected = chooser.getSelected();
+    if (selected != requested) {
+      // The previous routine is dropped; paths still loading for it just finish unused
+      requested = selected;
+      requestedNanos = System.nanoTime();
+      command = null;
+      startingPose = null;
+      pending = create(selected);
+      loaded = pending == null ? CompletableFuture.completedFuture(null) : pending.getTrajectoriesLoaded();
+    }
+
+    if (pending != null && loaded.isDone()) {
+      build();
+    }
+  }
+
+  /**
+   * @return the selected routine's command. Normally built while disabled; if the robot never
+   *     saw the current selection while disabled, waits for its trajectories to load.
+   */
+  public Command getCommand() {
+    update();
+    if (pending != null) {
+      DriverStation.reportWarning("Autonomous routine " + requested.name + " not built yet, waiting for it", false);
+      loaded.join();
+      build();
+    }
+    return command;
+  }
+
+  /** @return the built routine's start on the field, drawn for the blue alliance, or null if unknown */
+  public Pose2d getStartingPose() {
+    return startingPose;
+  }
+
+  private static CommandGroupInterface create(Routine routine) {
+    if (routine == null) return null;
+    try {
+      return routine.factory.get();
+    } catch (Exception ex) {
+      DriverStation.reportError("Unable to build autonomous routine: " + routine.name, ex.getStackTrace());
+      return null;
+    }
+  }
+
+  // On the robot thread, so the routine's first loop has nothing left to set up
+  private void build() {
+    CommandGroupInterface group = pending;
+    pending = null;
+    try {
+      command = group.getCommand();
+      startingPose = group.getStartingPose();
+    } catch (Exception ex) {
+      DriverStation.reportError("Unable to build autonomous routine: " + requested.name, ex.getStackTrace());
+      return;
+    }
+    if (command != null) LoopProfiler.getInstance().register(command);
+    builtLog.log(requested.name, (System.nanoTime() - requestedNanos) / 1e6);
+  }
+}
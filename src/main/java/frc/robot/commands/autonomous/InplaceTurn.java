@@ -6,8 +6,11 @@ package frc.robot.commands.autonomous;
 
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import frc.robot.subsystems.DriveTrain;
+import frc.robot.utility.logging.Log;
 
 public class InplaceTurn extends CommandBase {
+  private static final Log.Site turnLog = Log.site(Log.Level.DEBUG, "Turned: {}", 0.1);
+
   /** Creates a new InplaceTurn. */
   private final DriveTrain driveTrain;
   private final double degreesToTurn;
@@ -43,7 +46,7 @@ public class InplaceTurn extends CommandBase {
   @Override
   public boolean isFinished() {
     double curRotation = driveTrain.getAngleContinuous();
-    System.out.println(Math.abs(curRotation - startRotation));
+    turnLog.log(Math.abs(curRotation - startRotation));
     return  Math.abs(curRotation - startRotation) > Math.abs(degreesToTurn);
   }
 }
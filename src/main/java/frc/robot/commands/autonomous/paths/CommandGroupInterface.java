@@ -4,9 +4,25 @@
 
 package frc.robot.commands.autonomous.paths;
 
+import java.util.concurrent.CompletableFuture;
+
+import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.wpilibj2.command.Command;
 
 /** Add your docs here. */
 public interface CommandGroupInterface {
     public Command getCommand();
+
+    /** @return completes once every trajectory the routine follows has loaded */
+    public default CompletableFuture<?> getTrajectoriesLoaded() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * @return where the routine starts on the field, as drawn for the blue alliance, or null when
+     *     its first path isn't placed on the field. Only called once its trajectories have loaded.
+     */
+    public default Pose2d getStartingPose() {
+        return null;
+    }
 }
@@ -4,6 +4,9 @@
 
 package frc.robot.commands.autonomous.paths;
 
+import java.util.concurrent.CompletableFuture;
+
+import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.commands.ConveyorCommand;
 import frc.robot.commands.IntakeCommand;
@@ -43,6 +46,16 @@ public class FourBallCommandGroup implements CommandGroupInterface {
 
         }
 
+        @Override
+        public CompletableFuture<?> getTrajectoriesLoaded() {
+                return CompletableFuture.allOf(threeBall1.getTrajectoryFuture(), fourBallCont.getTrajectoryFuture(), strightRamseteGen.getTrajectoryFuture());
+        }
+
+        @Override
+        public Pose2d getStartingPose() {
+                return threeBall1.getTrajectory().getInitialPose();
+        }
+
         @Override
         public Command getCommand() {
                 return (
@@ -4,6 +4,8 @@
 
 package frc.robot.commands.autonomous.paths;
 
+import java.util.concurrent.CompletableFuture;
+
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.commands.ConveyorCommand;
 import frc.robot.commands.ShooterCommand;
@@ -30,6 +32,11 @@ public class OneBallCommandGroup implements CommandGroupInterface {
 
         path1 = new StraightRamseteGen(driveTrain, 1.5);
     }
+    @Override
+    public CompletableFuture<?> getTrajectoriesLoaded() {
+        return path1.getTrajectoryFuture();
+    }
+
     @Override
     public Command getCommand() {
         return (
@@ -4,6 +4,9 @@
 
 package frc.robot.commands.autonomous.paths;
 
+import java.util.concurrent.CompletableFuture;
+
+import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.commands.ConveyorCommand;
 import frc.robot.commands.IntakeCommand;
@@ -35,6 +38,16 @@ public class TwoBallCommandGroup implements CommandGroupInterface {
 
         threeBall1 = new AutoWrapper("Threeball_1", this.driveTrain);
     }
+    @Override
+    public CompletableFuture<?> getTrajectoriesLoaded() {
+        return threeBall1.getTrajectoryFuture();
+    }
+
+    @Override
+    public Pose2d getStartingPose() {
+        return threeBall1.getTrajectory().getInitialPose();
+    }
+
     @Override
     public Command getCommand() {
         return (
@@ -13,6 +13,8 @@ import frc.robot.commands.ClimbCommand;
 
 import frc.robot.utility.NumberStepper;
 import frc.robot.utility.PovNumberStepper;
+import frc.robot.utility.NetworkTable.NtTelemetry;
+import frc.robot.utility.logging.DataLogger;
 import edu.wpi.first.wpilibj.Joystick;
 
 import static frc.robot.utility.NetworkTable.NtValueDisplay.ntDispTab;
@@ -47,8 +49,32 @@ public class ManualControls implements DriveCommand.Controls, IntakeCommand.Cont
         );
 
         ntDispTab("Driver")
-            .add("DEV: xbox X Position", this::getX)
-            .add("DEV: xbox Y Position", this::getY);
+            .rate(NtTelemetry.Rate.HZ_10)
+            .addDouble("DEV: xbox X Position", this::getX)
+            .addDouble("DEV: xbox Y Position", this::getY);
+
+        // Record everything the commands read from the drivers, so a match can be replayed
+        DataLogger logger = DataLogger.getInstance();
+        logger.addDouble("Controls/X", this::getX);
+        logger.addDouble("Controls/Y", this::getY);
+        logger.addDouble("Controls/Speed", this::getSpeed);
+        logger.addDouble("Controls/Turn Speed", this::getTurnSpeed);
+        logger.addBoolean("Controls/Intake Out", this::getIntakeOut);
+        logger.addBoolean("Controls/Conveyor Motor", this::getConveyorMotor);
+        logger.addBoolean("Controls/Feed Shooter", this::getFeedShooter);
+        logger.addBoolean("Controls/Ball Chain Reverse", this::getBallChainReverse);
+        logger.addDouble("Controls/Limelight Pipeline", this::getLimelightPipeline);
+        logger.addDouble("Controls/Shooter Turret Test", this::shooterTurretTest);
+        logger.addDouble("Controls/Shooter Hood Test", this::shooterHoodTest);
+        logger.addBoolean("Controls/Aim Shooter", this::getAimShooter);
+        logger.addBoolean("Controls/Constant Aiming", this::getConstantAiming);
+        logger.addBoolean("Controls/Override Turret Center", this::overrideTurretCenter);
+        logger.addBoolean("Controls/Hot RPM Addition", this::getHotRPMAddition);
+        logger.addBoolean("Controls/Hot RPM Reduction", this::getHotRPMReduction);
+        logger.addBoolean("Controls/Manual Miss", this::getManualMiss);
+        logger.addBoolean("Controls/Climb Rotator Engaged", this::getClimbRotatorEngaged);
+        logger.addDouble("Controls/Climb Extension Motors", this::getClimbExtensionMotors);
+        logger.addBoolean("Controls/Auto Climb Enabled", this::getAutoClimbEnabled);
     }
 
 
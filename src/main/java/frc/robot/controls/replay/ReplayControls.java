@@ -0,0 +1,164 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.controls.replay;
+
+import edu.wpi.first.wpilibj.Joystick;
+import frc.robot.controls.manualdrive.ManualControls;
+import frc.robot.utility.logging.LogReader;
+
+/**
+ * Driver inputs read back from a data log instead of the joysticks. The columns are the
+ * "Controls/..." ones {@link ManualControls} records; a column the log doesn't have reads as 0.
+ */
+public class ReplayControls extends ManualControls {
+    private final LogReader log;
+    private int record = 0;
+
+    private final int x, y, speed, turnSpeed;
+    private final int intakeOut, conveyorMotor, feedShooter, ballChainReverse;
+    private final int limelightPipeline, shooterTurretTest, shooterHoodTest;
+    private final int aimShooter, constantAiming, overrideTurretCenter;
+    private final int hotRPMAddition, hotRPMReduction, manualMiss;
+    private final int climbRotatorEngaged, climbExtensionMotors, autoClimbEnabled;
+
+    public ReplayControls(Joystick xbox, Joystick controlStation, LogReader log) {
+        super(xbox, controlStation);
+        this.log = log;
+
+        x = log.getColumnIndex("Controls/X");
+        y = log.getColumnIndex("Controls/Y");
+        speed = log.getColumnIndex("Controls/Speed");
+        turnSpeed = log.getColumnIndex("Controls/Turn Speed");
+        intakeOut = log.getColumnIndex("Controls/Intake Out");
+        conveyorMotor = log.getColumnIndex("Controls/Conveyor Motor");
+        feedShooter = log.getColumnIndex("Controls/Feed Shooter");
+        ballChainReverse = log.getColumnIndex("Controls/Ball Chain Reverse");
+        limelightPipeline = log.getColumnIndex("Controls/Limelight Pipeline");
+        shooterTurretTest = log.getColumnIndex("Controls/Shooter Turret Test");
+        shooterHoodTest = log.getColumnIndex("Controls/Shooter Hood Test");
+        aimShooter = log.getColumnIndex("Controls/Aim Shooter");
+        constantAiming = log.getColumnIndex("Controls/Constant Aiming");
+        overrideTurretCenter = log.getColumnIndex("Controls/Override Turret Center");
+        hotRPMAddition = log.getColumnIndex("Controls/Hot RPM Addition");
+        hotRPMReduction = log.getColumnIndex("Controls/Hot RPM Reduction");
+        manualMiss = log.getColumnIndex("Controls/Manual Miss");
+        climbRotatorEngaged = log.getColumnIndex("Controls/Climb Rotator Engaged");
+        climbExtensionMotors = log.getColumnIndex("Controls/Climb Extension Motors");
+        autoClimbEnabled = log.getColumnIndex("Controls/Auto Climb Enabled");
+    }
+
+    /** Selects the log record the getters read from. */
+    public void setRecord(int record) {
+        this.record = record;
+    }
+
+    private double value(int column) {
+        return column < 0 ? 0.0 : log.getDouble(record, column);
+    }
+
+    private boolean flag(int column) {
+        return value(column) != 0.0;
+    }
+
+    @Override
+    public double getX() {
+        return value(x);
+    }
+
+    @Override
+    public double getY() {
+        return value(y);
+    }
+
+    @Override
+    public double getSpeed() {
+        return value(speed);
+    }
+
+    @Override
+    public double getTurnSpeed() {
+        return value(turnSpeed);
+    }
+
+    @Override
+    public boolean getIntakeOut() {
+        return flag(intakeOut);
+    }
+
+    @Override
+    public boolean getConveyorMotor() {
+        return flag(conveyorMotor);
+    }
+
+    @Override
+    public boolean getFeedShooter() {
+        return flag(feedShooter);
+    }
+
+    @Override
+    public boolean getBallChainReverse() {
+        return flag(ballChainReverse);
+    }
+
+    @Override
+    public int getLimelightPipeline() {
+        return (int) value(limelightPipeline);
+    }
+
+    @Override
+    public double shooterTurretTest() {
+        return value(shooterTurretTest);
+    }
+
+    @Override
+    public double shooterHoodTest() {
+        return value(shooterHoodTest);
+    }
+
+    @Override
+    public boolean getAimShooter() {
+        return flag(aimShooter);
+    }
+
+    @Override
+    public boolean getConstantAiming() {
+        return flag(constantAiming);
+    }
+
+    @Override
+    public boolean overrideTurretCenter() {
+        return flag(overrideTurretCenter);
+    }
+
+    @Override
+    public boolean getHotRPMAddition() {
+        return flag(hotRPMAddition);
+    }
+
+    @Override
+    public boolean getHotRPMReduction() {
+        return flag(hotRPMReduction);
+    }
+
+    @Override
+    public boolean getManualMiss() {
+        return flag(manualMiss);
+    }
+
+    @Override
+    public boolean getClimbRotatorEngaged() {
+        return flag(climbRotatorEngaged);
+    }
+
+    @Override
+    public double getClimbExtensionMotors() {
+        return value(climbExtensionMotors);
+    }
+
+    @Override
+    public boolean getAutoClimbEnabled() {
+        return flag(autoClimbEnabled);
+    }
+}
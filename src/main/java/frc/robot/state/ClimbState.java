@@ -0,0 +1,21 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.state;
+
+/** Climb arm extension in inches and velocity, published by Climb. */
+public class ClimbState implements StateBus.Snapshot<ClimbState> {
+    public double leftPositionInches;
+    public double rightPositionInches;
+    public double leftVelocity;
+    public double rightVelocity;
+
+    @Override
+    public void copyFrom(ClimbState other) {
+        leftPositionInches = other.leftPositionInches;
+        rightPositionInches = other.rightPositionInches;
+        leftVelocity = other.leftVelocity;
+        rightVelocity = other.rightVelocity;
+    }
+}
@@ -0,0 +1,25 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.state;
+
+/** The Limelight's target, read once per loop by Limelight. Angles are in degrees. */
+public class LimelightState implements StateBus.Snapshot<LimelightState> {
+    public boolean hasTarget;
+    public double horizontalAngle;
+    public double verticalAngle;
+    /** FPGA time the image was taken, from the reported pipeline latency. */
+    public double captureTimestampSeconds;
+    /** Whether this loop's values come from an image not seen on an earlier loop. */
+    public boolean newFrame;
+
+    @Override
+    public void copyFrom(LimelightState other) {
+        hasTarget = other.hasTarget;
+        horizontalAngle = other.horizontalAngle;
+        verticalAngle = other.verticalAngle;
+        captureTimestampSeconds = other.captureTimestampSeconds;
+        newFrame = other.newFrame;
+    }
+}
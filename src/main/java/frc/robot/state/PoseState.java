@@ -0,0 +1,32 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.state;
+
+/**
+ * The drivetrain's pose in meters and radians, published by its odometry thread: plain wheel and
+ * gyro odometry, and the pose estimator's estimate, which also takes vision into account.
+ */
+public class PoseState implements StateBus.Snapshot<PoseState> {
+    public double timestampSeconds;
+
+    public double x;
+    public double y;
+    public double headingRadians;
+
+    public double estimatedX;
+    public double estimatedY;
+    public double estimatedHeadingRadians;
+
+    @Override
+    public void copyFrom(PoseState other) {
+        timestampSeconds = other.timestampSeconds;
+        x = other.x;
+        y = other.y;
+        headingRadians = other.headingRadians;
+        estimatedX = other.estimatedX;
+        estimatedY = other.estimatedY;
+        estimatedHeadingRadians = other.estimatedHeadingRadians;
+    }
+}
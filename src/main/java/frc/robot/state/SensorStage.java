@@ -0,0 +1,51 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.state;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import frc.robot.utility.LoopProfiler;
+
+/**
+ * The sensing phase of the loop. Every subsystem with sensors reads all of them once, at the start
+ * of the loop, into its inputs; subsystem and command logic only reads those inputs afterwards.
+ * That way each encoder, gyro and DIO is read once per loop, and every decision in a loop sees the
+ * same values.
+ */
+public class SensorStage {
+    private static final SensorStage instance = new SensorStage();
+
+    public static SensorStage getInstance() {
+        return instance;
+    }
+
+    /** Something that reads its sensors into its own inputs. */
+    public interface Source {
+        /** Reads every sensor once. Does nothing while the inputs come from a log replay instead. */
+        void readInputs();
+    }
+
+    private final List<Source> sourceList = new ArrayList<>();
+    private Source[] sources = new Source[0];
+
+    private final LoopProfiler.Section profile = LoopProfiler.getInstance().section("SensorStage.sample()");
+
+    private SensorStage() {}
+
+    public void register(Source... added) {
+        sourceList.addAll(List.of(added));
+        sources = sourceList.toArray(new Source[0]);
+    }
+
+    /** Call at the start of every loop, before anything reads the inputs. */
+    public void sample() {
+        profile.start();
+        for (Source source : sources) {
+            source.readInputs();
+        }
+        profile.stop();
+    }
+}
@@ -0,0 +1,15 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.state;
+
+/** Published by Shooter. */
+public class ShooterState implements StateBus.Snapshot<ShooterState> {
+    public boolean ready;
+
+    @Override
+    public void copyFrom(ShooterState other) {
+        ready = other.ready;
+    }
+}
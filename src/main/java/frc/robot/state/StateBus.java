@@ -0,0 +1,74 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.state;
+
+import java.lang.invoke.VarHandle;
+import java.util.function.Supplier;
+
+/**
+ * Shares each subsystem's state with the rest of the robot code without going through
+ * NetworkTables. A subsystem publishes its channel once per loop in periodic(); code on the robot
+ * loop reads the current value with {@link Channel#get()}. NetworkTables only mirrors these values
+ * for the dashboard.
+ *
+ * <p>{@link #POSE} is the exception: the drivetrain's odometry thread writes it, so everything
+ * else, the robot loop included, takes copies with {@link Channel#read}.
+ */
+public final class StateBus {
+    /** Values carried by a channel. */
+    public interface Snapshot<T> {
+        void copyFrom(T other);
+    }
+
+    /**
+     * A single-writer channel. The writer edits the published value in place between
+     * {@link #edit()} and {@link #publish()}; a version number that is odd while an edit is under
+     * way lets other threads take a consistent copy with {@link #read} without locking.
+     */
+    public static final class Channel<T extends Snapshot<T>> {
+        private final T value;
+        private volatile long version = 0;
+
+        private Channel(Supplier<T> factory) {
+            value = factory.get();
+        }
+
+        /** Starts an edit. Only the owning subsystem should call this, once per loop. */
+        public T edit() {
+            version++;
+            VarHandle.storeStoreFence();
+            return value;
+        }
+
+        public void publish() {
+            version++;
+        }
+
+        /** The current value. Only for the robot loop thread, which is the one that writes it. */
+        public T get() {
+            return value;
+        }
+
+        /** Copies the latest complete value into {@code into}. Safe from any thread. */
+        public void read(T into) {
+            while (true) {
+                long before = version;
+                if ((before & 1) == 0) {
+                    into.copyFrom(value);
+                    VarHandle.acquireFence();
+                    if (version == before) return;
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public static final Channel<ClimbState> CLIMB = new Channel<>(ClimbState::new);
+    public static final Channel<LimelightState> LIMELIGHT = new Channel<>(LimelightState::new);
+    public static final Channel<ShooterState> SHOOTER = new Channel<>(ShooterState::new);
+    public static final Channel<PoseState> POSE = new Channel<>(PoseState::new);
+
+    private StateBus() {}
+}
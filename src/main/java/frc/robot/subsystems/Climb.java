@@ -8,23 +8,32 @@ import com.ctre.phoenix.motorcontrol.NeutralMode;
 import com.ctre.phoenix.motorcontrol.TalonFXControlMode;
 import com.ctre.phoenix.motorcontrol.can.TalonFX;
 
-import edu.wpi.first.networktables.NetworkTable;
-import edu.wpi.first.networktables.NetworkTableEntry;
-import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.PneumaticsModuleType;
 import edu.wpi.first.wpilibj.Solenoid;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.Constants.PhysicalConstants;
 import frc.robot.Constants.RobotIds;
+import frc.robot.state.ClimbState;
+import frc.robot.state.SensorStage;
+import frc.robot.state.StateBus;
 import frc.robot.utility.Util;
 import frc.robot.utility.NetworkTable.NtValueDisplay;
+import frc.robot.utility.NetworkTable.Tunables;
+import frc.robot.utility.LoopProfiler;
+import frc.robot.utility.actuators.CachedSolenoid;
+import frc.robot.utility.actuators.CachedTalonFX;
+import frc.robot.utility.can.TalonFXFrames;
 
-public class Climb extends SubsystemBase {
+public class Climb extends SubsystemBase implements SensorStage.Source {
 
-  private final Solenoid rotatorPiston = new Solenoid(PneumaticsModuleType.CTREPCM, 2);
+  private final LoopProfiler.Section profile = LoopProfiler.getInstance().section("Climb.periodic()");
+
+  private final CachedSolenoid rotatorPiston = new CachedSolenoid("Climb Rotator", new Solenoid(PneumaticsModuleType.CTREPCM, 2));
 
   private final TalonFX leftExtensionMotor = new TalonFX(RobotIds.CLIMB_LEFT_EXTENSION_MOTOR);
   private final TalonFX rightExtensionMotor = new TalonFX(RobotIds.CLIMB_RIGHT_EXTENSION_MOTOR);
+  private final CachedTalonFX leftExtensionOutput = new CachedTalonFX("Climb Left", leftExtensionMotor);
+  private final CachedTalonFX rightExtensionOutput = new CachedTalonFX("Climb Right", rightExtensionMotor);
 
   private final double minPos = 0.02;
   private final double maxPos = 23.25;
@@ -36,42 +45,63 @@ public class Climb extends SubsystemBase {
   private double rightComp = 1;
   private double leftComp = 1;
 
-  private NetworkTable nTable;
-  private NetworkTableEntry ntOverideSoftLimit;
-  private NetworkTableEntry ntExtensionSpeed;
-  private NetworkTableEntry rightTestSpeed;
-  private NetworkTableEntry leftTestSpeed;
+  /** Raw sensor units, read once per loop in {@link #readInputs()}. */
+  public static class Inputs {
+    public double leftPosition;
+    public double rightPosition;
+    public double leftVelocity;
+    public double rightVelocity;
+  }
+
+  private final Inputs inputs = new Inputs();
+
+  private final Tunables.BooleanParam ntOverideSoftLimit;
+  private final Tunables.DoubleParam ntExtensionSpeed;
+  private final Tunables.DoubleParam rightTestSpeed;
+  private final Tunables.DoubleParam leftTestSpeed;
 
   /** Creates a new Climb. */
   public Climb() {
     setupAllMotors();
-    nTable = NetworkTableInstance.getDefault().getTable("Climb");
+    Tunables tunables = Tunables.getInstance();
 
-    ntExtensionSpeed = nTable.getEntry("Extension Speed");
-    ntExtensionSpeed.setDouble(0.9);
+    ntExtensionSpeed = tunables.addDouble("Climb", "Extension Speed", 0.9);
 
-    ntOverideSoftLimit = nTable.getEntry("Climb Override");
-    ntOverideSoftLimit.setBoolean(false);
+    ntOverideSoftLimit = tunables.addOperatorBoolean("Climb", "Climb Override", false);
     
-    rightTestSpeed = nTable.getEntry("Right Override speed");
-    rightTestSpeed.setDouble(0.0);
+    rightTestSpeed = tunables.addOperatorDouble("Climb", "Right Override speed", 0.0);
 
-    leftTestSpeed = nTable.getEntry("left Override speed");
-    leftTestSpeed.setDouble(0.0);
+    leftTestSpeed = tunables.addOperatorDouble("Climb", "left Override speed", 0.0);
     
 
     NtValueDisplay.ntDispTab("Climb")
-        .add("Left Climb Pos", this::getLeftPositionInches)
-        .add("Right Climb Pos", this::getRightPositionInches)
-        .add("Left Climb Vel", this::getleftVelocity)
-        .add("Right Climb Vel", this::getRightVelocity);
+        .addDouble("Left Climb Pos", this::getLeftPositionInches)
+        .addDouble("Right Climb Pos", this::getRightPositionInches)
+        .addDouble("Left Climb Vel", this::getleftVelocity)
+        .addDouble("Right Climb Vel", this::getRightVelocity);
 
   }
 
+  @Override
+  public void readInputs() {
+    inputs.leftPosition = leftExtensionMotor.getSelectedSensorPosition();
+    inputs.rightPosition = rightExtensionMotor.getSelectedSensorPosition();
+    inputs.leftVelocity = leftExtensionMotor.getSelectedSensorVelocity();
+    inputs.rightVelocity = rightExtensionMotor.getSelectedSensorVelocity();
+  }
+
   @Override
   public void periodic() {
+    profile.start();
     // This method will be called once per scheduler run
-
+    ClimbState state = StateBus.CLIMB.edit();
+    state.leftPositionInches = getLeftPositionInches();
+    state.rightPositionInches = getRightPositionInches();
+    state.leftVelocity = getleftVelocity();
+    state.rightVelocity = getRightVelocity();
+    StateBus.CLIMB.publish();
+
+    profile.stop();
   }
 
   public void setRotatorPiston(boolean extended) {
@@ -79,8 +109,8 @@ public class Climb extends SubsystemBase {
   }
 
   public void reset() {
-    leftExtensionMotor.set(TalonFXControlMode.PercentOutput, 0);
-    rightExtensionMotor.set(TalonFXControlMode.PercentOutput, 0);
+    leftExtensionOutput.set(TalonFXControlMode.PercentOutput, 0);
+    rightExtensionOutput.set(TalonFXControlMode.PercentOutput, 0);
   }
 
   public void setExtensionMotors(double output) {
@@ -91,12 +121,12 @@ public class Climb extends SubsystemBase {
     double leftPos = getLeftPositionInches();
 
 
-    double extensionSpeed = ntExtensionSpeed.getDouble(0.5);
+    double extensionSpeed = ntExtensionSpeed.get();
 
     double leftSpeed;
     double rightSpeed;
     
-    if(!ntOverideSoftLimit.getBoolean(false)){
+    if(!ntOverideSoftLimit.get()){
 
       if(output > 0){
         leftSpeed = (output * extensionSpeed);
@@ -152,11 +182,11 @@ public class Climb extends SubsystemBase {
   }
 
   private void setLeftExtensionMotor(double output) {
-    leftExtensionMotor.set(TalonFXControlMode.PercentOutput, output);
+    leftExtensionOutput.set(TalonFXControlMode.PercentOutput, output);
   }
 
   private void setRightExtensionMotor(double output) {
-    rightExtensionMotor.set(TalonFXControlMode.PercentOutput, output);
+    rightExtensionOutput.set(TalonFXControlMode.PercentOutput, output);
   }
 
   private void setupAllMotors() {
@@ -169,14 +199,15 @@ public class Climb extends SubsystemBase {
     motor.setInverted(inverted);
     motor.setSelectedSensorPosition(0.0);
     motor.setNeutralMode(NeutralMode.Brake);
+    TalonFXFrames.SENSOR.apply(motor);
   }
 
   public double getRightPosition() {
-    return rightExtensionMotor.getSelectedSensorPosition();
+    return inputs.rightPosition;
   }
 
   public double getLeftPosition() {
-    return leftExtensionMotor.getSelectedSensorPosition();
+    return inputs.leftPosition;
   }
 
   public double getRightPositionInches() {
@@ -188,10 +219,10 @@ public class Climb extends SubsystemBase {
   }
 
   public double getRightVelocity() {
-    return rightExtensionMotor.getSelectedSensorVelocity();
+    return inputs.rightVelocity;
   }
 
   public double getleftVelocity() {
-    return leftExtensionMotor.getSelectedSensorVelocity();
+    return inputs.leftVelocity;
   }
 }
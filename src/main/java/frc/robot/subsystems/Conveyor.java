@@ -11,12 +11,29 @@ import com.revrobotics.CANSparkMaxLowLevel.MotorType;
 
 import frc.robot.RobotContainer;
 import frc.robot.Constants.RobotIds;
+import frc.robot.state.SensorStage;
+import frc.robot.utility.LoopProfiler;
+import frc.robot.utility.actuators.CachedSparkMax;
+import frc.robot.utility.can.SparkMaxFrames;
+
+import static frc.robot.utility.NetworkTable.NtValueDisplay.ntDispTab;
+
+public class Conveyor extends SubsystemBase implements SensorStage.Source {
+  private final LoopProfiler.Section profile = LoopProfiler.getInstance().section("Conveyor.periodic()");
 
-public class Conveyor extends SubsystemBase {
   private final CANSparkMax conveyorMotorTop = new CANSparkMax(RobotIds.CONVEYOR_MOTOR_TOP, MotorType.kBrushless);
   private final CANSparkMax conveyorMotorBottom = new CANSparkMax(RobotIds.CONVEYOR_MOTOR_BOTTOM, MotorType.kBrushless);
   
   private final CANSparkMax overHeadMotor = new CANSparkMax(RobotIds.INTAKE_OVERHEAD_MOTOR, MotorType.kBrushless);
+
+  private final CachedSparkMax conveyorOutputTop = new CachedSparkMax("Conveyor Top", conveyorMotorTop);
+  private final CachedSparkMax conveyorOutputBottom = new CachedSparkMax("Conveyor Bottom", conveyorMotorBottom);
+  private final CachedSparkMax overHeadOutputMotor = new CachedSparkMax("Overhead", overHeadMotor);
+
+  private double conveyorOutput = 0.0;
+  private double overHeadOutput = 0.0;
+
+  private boolean ballDetected = false;
   
   /** Creates a new Conveyor. */
   public Conveyor() {
@@ -31,27 +48,45 @@ public class Conveyor extends SubsystemBase {
 
     overHeadMotor.setInverted(true);
 
-    conveyorMotorTop.set(0.0);
-    conveyorMotorBottom.set(0.0);
-    
+    // Nothing is read back from any of these
+    SparkMaxFrames.OUTPUT_ONLY.apply(conveyorMotorTop);
+    SparkMaxFrames.OUTPUT_ONLY.apply(conveyorMotorBottom);
+    SparkMaxFrames.OUTPUT_ONLY.apply(overHeadMotor);
+
+    conveyorOutputTop.set(0.0);
+    conveyorOutputBottom.set(0.0);
+
+    ntDispTab("Conveyor")
+      .addDouble("Output", () -> conveyorOutput)
+      .addDouble("Overhead Output", () -> overHeadOutput)
+      .addBoolean("Ball Detected", this::getSensor);
   }
 
   public void setConveyor(double output) {
-    conveyorMotorTop.set(output);
-    conveyorMotorBottom.set(output);
+    conveyorOutput = output;
+    conveyorOutputTop.set(output);
+    conveyorOutputBottom.set(output);
   }
 
   public void setOverHead(double outout){
-    overHeadMotor.set(outout);
+    overHeadOutput = outout;
+    overHeadOutputMotor.set(outout);
+  }
+
+  @Override
+  public void readInputs() {
+    ballDetected = !RobotContainer.conveyorSensor.get();
   }
 
   public boolean getSensor() {
-    return !RobotContainer.conveyorSensor.get();
+    return ballDetected;
     //return false;
   }
 
   @Override
   public void periodic() {
+    profile.start();
     // This method will be called once per scheduler run
+    profile.stop();
   }
 }
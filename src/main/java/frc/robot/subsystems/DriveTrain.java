@@ -12,16 +12,15 @@ import com.revrobotics.SparkMaxPIDController;
 import com.revrobotics.CANSparkMax.ControlType;
 import com.revrobotics.CANSparkMax.IdleMode;
 import com.revrobotics.CANSparkMaxLowLevel.MotorType;
-import com.revrobotics.CANSparkMaxLowLevel.PeriodicFrame;
-import com.revrobotics.SparkMaxPIDController.ArbFFUnits;
 
 import edu.wpi.first.wpilibj.drive.DifferentialDrive;
-import edu.wpi.first.wpilibj.motorcontrol.MotorControllerGroup;
 import edu.wpi.first.wpilibj.smartdashboard.Field2d;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.math.MatBuilder;
 import edu.wpi.first.math.Nat;
+import edu.wpi.first.math.VecBuilder;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.controller.SimpleMotorFeedforward;
 import edu.wpi.first.math.estimator.DifferentialDrivePoseEstimator;
@@ -30,20 +29,34 @@ import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.kinematics.DifferentialDriveOdometry;
 import edu.wpi.first.math.kinematics.DifferentialDriveWheelSpeeds;
-import edu.wpi.first.networktables.NetworkTable;
-import edu.wpi.first.networktables.NetworkTableEntry;
-import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.SerialPort;
+import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.Timer;
 import frc.robot.Constants.PhysicalConstants;
 import frc.robot.Constants.RobotIds;
+import frc.robot.Constants.VisionConstants;
+import frc.robot.utility.NetworkTable.NtTelemetry;
 import frc.robot.utility.NetworkTable.NtValueDisplay;
+import frc.robot.utility.NetworkTable.Tunables;
+import frc.robot.state.PoseState;
+import frc.robot.state.SensorStage;
+import frc.robot.state.StateBus;
+import frc.robot.utility.actuators.CachedSparkMax;
+import frc.robot.utility.can.SparkMaxFrames;
+import frc.robot.utility.LoopProfiler;
+import frc.robot.utility.PoseHistory;
+import frc.robot.utility.logging.Log;
+
+
+public class DriveTrain extends SubsystemBase implements SensorStage.Source {
+  
+  private static final Log.Site pidLog = Log.site(Log.Level.INFO, "Drivetrain PID changed", 0.0);
+  private static final Log.Site speedLog = Log.site(Log.Level.DEBUG, "Actual Speed L: {} R: {}", 0.1);
 
+  private final LoopProfiler.Section profile = LoopProfiler.getInstance().section("DriveTrain.periodic()");
 
-public class DriveTrain extends SubsystemBase {
-  
   private final CANSparkMax[] leftMotors = new CANSparkMax[] {
     new CANSparkMax(RobotIds.DRIVETRAIN_L_FRONT_MOTOR, MotorType.kBrushless),
     new CANSparkMax(RobotIds.DRIVETRAIN_L_BACK_MOTOR, MotorType.kBrushless)
@@ -54,20 +67,52 @@ public class DriveTrain extends SubsystemBase {
     new CANSparkMax(RobotIds.DRIVETRAIN_R_BACK_MOTOR, MotorType.kBrushless)
   };
 
-  private final MotorControllerGroup leftMotorGroup = new MotorControllerGroup(leftMotors);
-  private final MotorControllerGroup rightMotorGroup = new MotorControllerGroup(rightMotors);
+  // The back motors follow the front ones, so every output goes to the front motor only, through
+  // these so a setpoint that hasn't changed isn't resent
+  private final CachedSparkMax leftLeader = new CachedSparkMax("Drive Left", leftMotors[0]);
+  private final CachedSparkMax rightLeader = new CachedSparkMax("Drive Right", rightMotors[0]);
 
 
-  private final DifferentialDrive m_drive = new DifferentialDrive(leftMotorGroup, rightMotorGroup);
+  private final DifferentialDrive m_drive = new DifferentialDrive(leftLeader, rightLeader);
 
   private final RelativeEncoder leftEncoder = leftMotors[0].getEncoder();
   private final RelativeEncoder rightEncoder = rightMotors[0].getEncoder();
 
   private final DifferentialDriveOdometry m_odometry;
+
+  // Wheel odometry and the pose history are updated by the odometry thread at its own rate. The
+  // estimator's filter is too slow for that, so it runs once per loop in periodic() on the newest
+  // sample. The lock is only for the odometry thread's state; everyone reads the pose through
+  // StateBus.POSE.
+  private final Object odometryLock = new Object();
+  private final Notifier odometryNotifier = new Notifier(this::sampleOdometry);
+  private final PoseState pose = new PoseState();
+  private final PoseHistory poseHistory = new PoseHistory(PhysicalConstants.POSE_HISTORY_SIZE);
+  private final PoseHistory.Sample historySample = new PoseHistory.Sample();
+  private final PoseHistory.Sample estimatorSample = new PoseHistory.Sample();
+  // Newest odometry sample, for the estimator to pick up
+  private double sampleTimestamp = 0.0, sampleGyroDegrees = 0.0;
+  private double sampleLeftPosition = 0.0, sampleRightPosition = 0.0;
+  private double sampleLeftVelocity = 0.0, sampleRightVelocity = 0.0;
+  // Last estimate, sent out with every odometry pose until the next loop replaces it
+  private double publishedEstimatedX = 0.0, publishedEstimatedY = 0.0, publishedEstimatedHeading = 0.0;
+
+  // Estimator state, only touched by the robot loop thread
+  private double estimatorTimestamp = 0.0, estimatorGyroDegrees = 0.0;
+  private double estimatorLeftPosition = 0.0, estimatorRightPosition = 0.0;
+  private double estimatedX = 0.0, estimatedY = 0.0, estimatedHeading = 0.0;
+  // The estimator expects wheel distances from zero after a reset, so they're measured from here
+  private double estimatorLeftOffset = 0.0, estimatorRightOffset = 0.0;
+  private boolean fieldHeadingKnown = false;
+  // Refilled for every estimator update rather than allocated each time
+  private final DifferentialDriveWheelSpeeds estimatorWheelSpeeds = new DifferentialDriveWheelSpeeds();
   
 
   //check
   private final AHRS gyro = new AHRS(SerialPort.Port.kMXP, SerialDataType.kProcessedData, (byte) 100);
+  private static final double GYRO_SCALE = 1.039956786329005;
+  // DifferentialDrive's default deadband
+  private static final double ARCADE_DEADBAND = 0.02;
 
   private final SlewRateLimiter forwardLimiter = new SlewRateLimiter(PhysicalConstants.MAX_ACCELERATION);
   private final SlewRateLimiter turnLimiter = new SlewRateLimiter(PhysicalConstants.MAX_TURN_ACCELERATION);
@@ -76,9 +121,10 @@ public class DriveTrain extends SubsystemBase {
 
   private double kP, kI, kD, kFF;
 
-  private NetworkTable ntTable;
-  private NetworkTableEntry ntPosition, ntspeed, ntP, ntI, ntD, ntFF, ntifTestingVelocity, ntifTestingRotation;
+  private final Tunables.DoubleParam ntPosition, ntspeed, ntP, ntI, ntD, ntFF;
+  private final Tunables.BooleanParam ntifTestingVelocity, ntifTestingRotation;
 
+  // Its heading is relative to the gyro's boot zero until setStartingPose() gives it a field one
   private DifferentialDrivePoseEstimator estimator = new DifferentialDrivePoseEstimator(new Rotation2d(), new Pose2d(),
         new MatBuilder<>(Nat.N5(), Nat.N1()).fill(0.02, 0.02, 0.01, 0.02, 0.02), // State measurement standard deviations. X, Y, theta.
         new MatBuilder<>(Nat.N3(), Nat.N1()).fill(0.02, 0.02, 0.01), // Local measurement standard deviations. Left encoder, right encoder, gyro.
@@ -87,6 +133,21 @@ public class DriveTrain extends SubsystemBase {
 
   private final Field2d m_field = new Field2d();
 
+  /** Sensor values for the current loop. Read from the hardware in periodic, or set by a log replay. */
+  public static class Inputs {
+    public double leftPosition;
+    public double rightPosition;
+    public double leftVelocity;
+    public double rightVelocity;
+    public double gyroDegrees;
+    public boolean gyroConnected = true;
+  }
+
+  private final Inputs inputs = new Inputs();
+  private boolean replaying = false;
+
+  private double leftTargetVelocity, rightTargetVelocity;
+
   /** Creates a new DriveTrainLeoGood. */
   public DriveTrain() {
     SmartDashboard.putData("Field", m_field);
@@ -98,9 +159,9 @@ public class DriveTrain extends SubsystemBase {
 
     m_odometry = new DifferentialDriveOdometry(new Rotation2d());
     NtValueDisplay.ntDispTab("Drivetrain")
-    .add("Degrees", this::getAngleContinuous)
-    .add("Left Position", this::getLeftEnocoder)
-    .add("Right Position", this::getRightEncoder);
+    .addDouble("Degrees", this::getAngleContinuous)
+    .addDouble("Left Position", this::getLeftEnocoder)
+    .addDouble("Right Position", this::getRightEncoder);
 
 
     kP = 0; 
@@ -108,94 +169,246 @@ public class DriveTrain extends SubsystemBase {
     kD = 0; 
     kFF = 0;
 
-    this.ntTable = NetworkTableInstance.getDefault().getTable("Drivetrain");
-
-    ntP = ntTable.getEntry("P");
-    ntP.setDouble(0.0);
-    ntI = ntTable.getEntry("I");
-    ntI.setDouble(0.0);
-    ntD = ntTable.getEntry("D");
-    ntD.setDouble(0.0);
-    ntFF = ntTable.getEntry("FF");
-    ntFF.setDouble(0.0);
-    ntspeed = ntTable.getEntry("Target Speed");
-    ntspeed.setDouble(0.0);
-
-    ntPosition = ntTable.getEntry("Target Position");
-    ntPosition.setDouble(0.0);
+    Tunables tunables = Tunables.getInstance();
+
+    ntP = tunables.addDouble("Drivetrain", "P", 0.0);
+    ntI = tunables.addDouble("Drivetrain", "I", 0.0);
+    ntD = tunables.addDouble("Drivetrain", "D", 0.0);
+    ntFF = tunables.addDouble("Drivetrain", "FF", 0.0);
+    ntspeed = tunables.addDouble("Drivetrain", "Target Speed", 0.0);
+
+    ntPosition = tunables.addDouble("Drivetrain", "Target Position", 0.0);
     
-    ntifTestingVelocity = ntTable.getEntry("If testing Postion");
-    ntifTestingVelocity.setBoolean(false);
+    ntifTestingVelocity = tunables.addBoolean("Drivetrain", "If testing Postion", false);
 
-    ntifTestingRotation = ntTable.getEntry("If testing Rotation");
-    ntifTestingRotation.setBoolean(false);
+    ntifTestingRotation = tunables.addBoolean("Drivetrain", "If testing Rotation", false);
 
-    NtValueDisplay.ntDispTab("Drivetrain").add("L Actual Speed", this::getLVelocity).add("R Actual Speed", this::getRVelocity);
+    // Gains are only pushed to the SparkMaxes when they change, and only while testing velocity
+    tunables.onChange(this::updatePID, ntP, ntI, ntD, ntFF, ntifTestingVelocity);
+
+    NtValueDisplay.ntDispTab("Drivetrain").addDouble("L Actual Speed", this::getLVelocity).addDouble("R Actual Speed", this::getRVelocity);
+    NtValueDisplay.ntDispTab("Drivetrain")
+    .addDouble("Left Output", leftLeader::get)
+    .addDouble("Right Output", rightLeader::get)
+    .addDouble("Left Target Speed", () -> leftTargetVelocity)
+    .addDouble("Right Target Speed", () -> rightTargetVelocity);
+    // These are CAN parameter reads that only change when the gains are retuned
     NtValueDisplay.ntDispTab("Drivetrain")
-    .add("Actual FF", () -> leftMotors[0].getPIDController().getFF())
-    .add("Actual P", () -> leftMotors[0].getPIDController().getP())
-    .add("Actual I", () -> leftMotors[0].getPIDController().getI())
-    .add("Actual D", () -> leftMotors[0].getPIDController().getD());
+    .rate(NtTelemetry.Rate.HZ_1)
+    .addDouble("Actual FF", () -> leftMotors[0].getPIDController().getFF())
+    .addDouble("Actual P", () -> leftMotors[0].getPIDController().getP())
+    .addDouble("Actual I", () -> leftMotors[0].getPIDController().getI())
+    .addDouble("Actual D", () -> leftMotors[0].getPIDController().getD());
 
     NtValueDisplay.ntDispTab("DriverStation")
-      .add("Battery Voltage", () -> RobotController.getBatteryVoltage());
+      .rate(NtTelemetry.Rate.HZ_10)
+      .addDouble("Battery Voltage", RobotController::getBatteryVoltage);
     NtValueDisplay.ntDispTab("DriverStation")
-      .add("FPGA Timestamp", () -> RobotController.getFPGATime());
+      .rate(NtTelemetry.Rate.HZ_10)
+      .addLong("FPGA Timestamp", RobotController::getFPGATime);
+
+    NtTelemetry.getInstance().addFieldPose(m_field, () -> pose.estimatedX, () -> pose.estimatedY,
+        () -> Math.toDegrees(pose.estimatedHeadingRadians));
+
+    odometryNotifier.setName("Odometry");
+    odometryNotifier.startPeriodic(PhysicalConstants.ODOMETRY_PERIOD_SECONDS);
   }
 
   public double getLeftEnocoder(){
-    return leftEncoder.getPosition();
+    return inputs.leftPosition;
   }
 
   public double getRightEncoder(){
-    return rightEncoder.getPosition();
+    return inputs.rightPosition;
+  }
+
+  /** Stops reading the hardware. The returned inputs are filled in by the replay each loop instead. */
+  public Inputs startReplay() {
+    replaying = true;
+    // Odometry follows the replayed inputs in periodic instead
+    odometryNotifier.stop();
+    return inputs;
   }
 
   @Override
-  public void periodic() {
+  public void readInputs() {
+    if(replaying) return;
+
+    inputs.leftPosition = leftEncoder.getPosition();
+    inputs.rightPosition = rightEncoder.getPosition();
+    inputs.leftVelocity = leftEncoder.getVelocity();
+    inputs.rightVelocity = rightEncoder.getVelocity();
+    inputs.gyroDegrees = gyroDegrees();
+    inputs.gyroConnected = gyro.isConnected();
 
+    StateBus.POSE.read(pose);
+  }
+
+  /** Runs on the odometry thread, reading the encoders and gyro directly as new samples arrive. */
+  private void sampleOdometry() {
+    updateOdometry(Timer.getFPGATimestamp(), gyroDegrees(),
+        leftEncoder.getPosition(), rightEncoder.getPosition(), leftEncoder.getVelocity(), rightEncoder.getVelocity());
+  }
+
+  /** Counterclockwise-positive heading, as gyro.getRotation2d() gives, without allocating a Rotation2d. */
+  private double gyroDegrees() {
+    return -gyro.getAngle() * GYRO_SCALE;
+  }
 
+  private void updateOdometry(double timestamp, double gyroDegrees, double leftPosition, double rightPosition,
+      double leftVelocity, double rightVelocity) {
+    Rotation2d gyroAngle = Rotation2d.fromDegrees(gyroDegrees);
+
+    synchronized(odometryLock){
+      sampleTimestamp = timestamp;
+      sampleGyroDegrees = gyroDegrees;
+      sampleLeftPosition = leftPosition;
+      sampleRightPosition = rightPosition;
+      sampleLeftVelocity = leftVelocity;
+      sampleRightVelocity = rightVelocity;
+      Pose2d odometryPose = m_odometry.update(gyroAngle, leftPosition, rightPosition);
+
+      PoseState state = StateBus.POSE.edit();
+      state.timestampSeconds = timestamp;
+      state.x = odometryPose.getX();
+      state.y = odometryPose.getY();
+      state.headingRadians = odometryPose.getRotation().getRadians();
+      state.estimatedX = publishedEstimatedX;
+      state.estimatedY = publishedEstimatedY;
+      state.estimatedHeadingRadians = publishedEstimatedHeading;
+      StateBus.POSE.publish();
+
+      poseHistory.add(timestamp, state.x, state.y, state.headingRadians, leftVelocity, rightVelocity);
+    }
+  }
+
+  /** Runs the estimator on the newest odometry sample. Called once per loop from periodic(). */
+  private void updateEstimator() {
+    double timestamp, gyroDegrees, leftPosition, rightPosition;
+    synchronized(odometryLock){
+      timestamp = sampleTimestamp;
+      gyroDegrees = sampleGyroDegrees;
+      leftPosition = sampleLeftPosition;
+      rightPosition = sampleRightPosition;
+      estimatorWheelSpeeds.leftMetersPerSecond = sampleLeftVelocity;
+      estimatorWheelSpeeds.rightMetersPerSecond = sampleRightVelocity;
+    }
+    // Nothing new since the last loop, or no sample at all yet
+    if(timestamp == estimatorTimestamp) return;
+
+    estimatorTimestamp = timestamp;
+    estimatorGyroDegrees = gyroDegrees;
+    estimatorLeftPosition = leftPosition;
+    estimatorRightPosition = rightPosition;
+    Pose2d estimatedPose = estimator.updateWithTime(timestamp, Rotation2d.fromDegrees(gyroDegrees), estimatorWheelSpeeds,
+        leftPosition - estimatorLeftOffset, rightPosition - estimatorRightOffset);
+    setEstimate(estimatedPose.getX(), estimatedPose.getY(), estimatedPose.getRotation().getRadians());
+  }
+
+  private void setEstimate(double x, double y, double headingRadians) {
+    estimatedX = x;
+    estimatedY = y;
+    estimatedHeading = headingRadians;
+    synchronized(odometryLock){
+      publishedEstimatedX = x;
+      publishedEstimatedY = y;
+      publishedEstimatedHeading = headingRadians;
+    }
+    // This loop's copy was read before the update
+    pose.estimatedX = x;
+    pose.estimatedY = y;
+    pose.estimatedHeadingRadians = headingRadians;
+  }
+
+  @Override
+  public void periodic() {
+    profile.start();
     // System.out.println(gyro.isCalibrating());
-    if(!gyro.isConnected())
+    if(!inputs.gyroConnected)
       DriverStation.reportError("gryo is off", false);
     // System.out.println("hi");
     // This method will be called once per scheduler run
-    m_odometry.update(getGyroAngle(), leftEncoder.getPosition(), rightEncoder.getPosition());
+    if(replaying){
+      updateOdometry(Timer.getFPGATimestamp(), inputs.gyroDegrees, inputs.leftPosition, inputs.rightPosition,
+          inputs.leftVelocity, inputs.rightVelocity);
+      StateBus.POSE.read(pose);
+    }
+    updateEstimator();
 
 
-    double speed = ntspeed.getDouble(0.0);
+    double speed = ntspeed.get();
 
-    if(ntifTestingVelocity.getBoolean(false)){
+    if(ntifTestingVelocity.get()){
       setWheelVelocity(speed, speed);
+    }
 
-      updatePID();
+    if(ntifTestingRotation.get()){
+      double targetPostion = ntPosition.get();
+      setWheelPosition(targetPostion, 0.2, -targetPostion, 0.2);
     }
+    profile.stop();
+  }
 
-    if(ntifTestingRotation.getBoolean(false)){
-      double targetPostion = ntPosition.getDouble(0.0);
-      setWheelPosition(new double[]{targetPostion, 0.2}, new double[]{-targetPostion, 0.2});
+  /**
+   * Corrects the pose estimate with a vision fix.
+   *
+   * @param visionPose where the camera put the robot
+   * @param captureTimestampSeconds FPGA time the image was taken
+   */
+  public void addVisionMeasurement(Pose2d visionPose, double captureTimestampSeconds, double xyStdDevMeters) {
+    estimator.addVisionMeasurement(visionPose, captureTimestampSeconds,
+        VecBuilder.fill(xyStdDevMeters, xyStdDevMeters, VisionConstants.HEADING_STD_DEV_RADIANS));
+  }
+
+  /**
+   * Moves the pose estimate so the robot was at {@code pose} at an FPGA timestamp from the last
+   * couple of seconds. The odometry's motion since then is added on, so the estimate ends up where
+   * the robot is now. Wheel odometry is left alone.
+   *
+   * @return false if there's no odometry yet
+   */
+  public boolean resetEstimatedPose(Pose2d pose, double timestampSeconds) {
+    synchronized(odometryLock){
+      if(!poseHistory.get(timestampSeconds, historySample) || !poseHistory.get(estimatorTimestamp, estimatorSample)){
+        return false;
+      }
     }
-    estimator.updateWithTime(Timer.getFPGATimestamp(), getGyroAngle(), new DifferentialDriveWheelSpeeds(getLVelocity(), getRVelocity()), leftEncoder.getPosition(), rightEncoder.getPosition());
+    carry(historySample, estimatorSample, pose.getX(), pose.getY(), pose.getRotation().getRadians(), estimatorSample);
 
-    m_field.setRobotPose(estimator.getEstimatedPosition());
+    resetEstimator(new Pose2d(estimatorSample.x, estimatorSample.y, new Rotation2d(estimatorSample.headingRadians)));
+    return true;
   }
 
-  public void setRobotEstimatedPosition(double magnitude, double deltaTheta) {
-    Pose2d prevPose = estimator.getEstimatedPosition();
-    
-    Rotation2d direction = prevPose.getRotation().plus(new Rotation2d(deltaTheta));
-    //Translation2d t = new Translation2d(magnitude, direction);
+  /**
+   * Tells the estimator the robot is at {@code pose} on the field right now, as when autonomous
+   * starts from a known spot. Until this is called its heading isn't a field heading.
+   */
+  public void setStartingPose(Pose2d pose) {
+    resetEstimator(pose);
+    fieldHeadingKnown = true;
+  }
+
+  /** @return whether the estimate's heading is a field heading, from {@link #setStartingPose} */
+  public boolean hasFieldHeading() {
+    return fieldHeadingKnown;
+  }
 
-    estimator.addVisionMeasurement(new Pose2d(magnitude, magnitude, direction), Timer.getFPGATimestamp());
+  private void resetEstimator(Pose2d pose) {
+    estimator.resetPosition(pose, Rotation2d.fromDegrees(estimatorGyroDegrees));
+    estimatorLeftOffset = estimatorLeftPosition;
+    estimatorRightOffset = estimatorRightPosition;
+    setEstimate(pose.getX(), pose.getY(), pose.getRotation().getRadians());
   }
 
   private void updatePID(){
-    if(kP != ntP.getDouble(0.0) || kI != ntI.getDouble(0.0) || kD != ntD.getDouble(0.0)){
-      System.out.println("Changed!!!!");
-      kP = ntP.getDouble(0.0);
-      kI = ntI.getDouble(0.0);
-      kD = ntD.getDouble(0.0);
-      kFF = ntFF.getDouble(0.0);
+    if(!ntifTestingVelocity.get()) return;
+
+    if(kP != ntP.get() || kI != ntI.get() || kD != ntD.get() || kFF != ntFF.get()){
+      pidLog.log();
+      kP = ntP.get();
+      kI = ntI.get();
+      kD = ntD.get();
+      kFF = ntFF.get();
       setupPID(leftMotors, new PIDController(kP, kI, kD), kFF);
       setupPID(rightMotors, new PIDController(kP, kI, kD), kFF);
     }
@@ -241,13 +454,10 @@ public class DriveTrain extends SubsystemBase {
       pidController.setIMaxAccum(0, 0);
     }
 
-    motors[0].setPeriodicFramePeriod(PeriodicFrame.kStatus2, 10);
-
-
-    // Changes default motor controller "send speed" from 20ms to 10ms
-    // Add if having issues with accuracy
-    //motors[0].setPeriodicFramePeriod(PeriodicFrame.kStatus2, 10);
-
+    // The back motor mirrors the front one, and only the front encoder is read
+    SparkMaxFrames.DRIVE_LEADER.apply(motors[0]);
+    motors[1].follow(motors[0]);
+    SparkMaxFrames.FOLLOWER.apply(motors[1]);
   }
 
   private void setupEncoders(){
@@ -262,27 +472,89 @@ public class DriveTrain extends SubsystemBase {
     rightEncoder.setVelocityConversionFactor(PhysicalConstants.RPMTOMETERSPERSEC);
   }
 
-  private Rotation2d getGyroAngle(){
-    return new Rotation2d(Math.toRadians(gyro.getRotation2d().getDegrees() * 1.039956786329005));
-    // return gyro.getRotation2d();
+
+  /**
+   * Both poses as of the start of this loop, as numbers. The same object is refilled every loop, so
+   * a reference to it stays current; don't modify it.
+   */
+  public PoseState getPoseState() {
+    return pose;
   }
+
+  /** The odometry pose as of the start of this loop. Allocates; use {@link #getPoseState()} every loop. */
   public Pose2d getPose() {
-    return m_odometry.getPoseMeters();
+    return new Pose2d(pose.x, pose.y, new Rotation2d(pose.headingRadians));
+  }
+
+  /**
+   * The pose estimator's pose, including vision, as of the latest loop. Allocates; use
+   * {@link #getPoseState()} every loop.
+   */
+  public Pose2d getEstimatedPose() {
+    return new Pose2d(pose.estimatedX, pose.estimatedY, new Rotation2d(pose.estimatedHeadingRadians));
+  }
+
+  /**
+   * Fills {@code into} with the estimated pose at an FPGA timestamp from the last couple of
+   * seconds. The history only holds wheel odometry, so this is the current estimate with the
+   * odometry's motion since then taken back off.
+   *
+   * @return false if there's no odometry yet
+   */
+  public boolean getPoseAt(double timestampSeconds, PoseHistory.Sample into) {
+    synchronized(odometryLock){
+      if(!poseHistory.get(estimatorTimestamp, estimatorSample) || !poseHistory.get(timestampSeconds, into)){
+        return false;
+      }
+    }
+
+    carry(estimatorSample, into, estimatedX, estimatedY, estimatedHeading, into);
+    return true;
+  }
+
+  /**
+   * Fills {@code into} with the pose (x, y, heading) moved the way odometry moved from {@code from}
+   * to {@code to}. {@code into} may be either of them.
+   */
+  private static void carry(PoseHistory.Sample from, PoseHistory.Sample to, double x, double y, double headingRadians,
+      PoseHistory.Sample into) {
+    // The odometry's move, in the frame of where it started
+    double dx = to.x - from.x;
+    double dy = to.y - from.y;
+    double cos = Math.cos(from.headingRadians);
+    double sin = Math.sin(from.headingRadians);
+    double localX = dx * cos + dy * sin;
+    double localY = -dx * sin + dy * cos;
+    double turn = to.headingRadians - from.headingRadians;
+
+    cos = Math.cos(headingRadians);
+    sin = Math.sin(headingRadians);
+    into.x = x + localX * cos - localY * sin;
+    into.y = y + localX * sin + localY * cos;
+    into.headingRadians = headingRadians + turn;
+  }
+
+  /** The estimated pose at an FPGA timestamp. Allocates; use the other overload every loop. */
+  public Pose2d getPoseAt(double timestampSeconds) {
+    if(!getPoseAt(timestampSeconds, historySample)){
+      return getEstimatedPose();
+    }
+    return new Pose2d(historySample.x, historySample.y, new Rotation2d(historySample.headingRadians));
   }
 
   public double getXdistance(){
-    return m_odometry.getPoseMeters().getX();
+    return pose.x;
   }
 
   public double getYdistance(){
-    return m_odometry.getPoseMeters().getY();
+    return pose.y;
   }
 
   public void tankDriveVolts(double leftVolts, double rightVolts) {
 
-    leftMotorGroup.setVoltage(leftVolts);
+    leftLeader.setVoltage(leftVolts);
 
-    rightMotorGroup.setVoltage(rightVolts);
+    rightLeader.setVoltage(rightVolts);
 
     m_drive.feed();
 
@@ -293,35 +565,64 @@ public class DriveTrain extends SubsystemBase {
   }
 
   public DifferentialDriveWheelSpeeds getWheelSpeeds(){
-    return new DifferentialDriveWheelSpeeds(leftEncoder.getVelocity(), rightEncoder.getVelocity());
+    return new DifferentialDriveWheelSpeeds(inputs.leftVelocity, inputs.rightVelocity);
   }
 
   public void setVelocity(double forward, double turn) {
-    if(!ntifTestingVelocity.getBoolean(false) && !ntifTestingRotation.getBoolean(false)){
-      m_drive.arcadeDrive(forwardLimiter.calculate(forward), turnLimiter.calculate(turn));    //differentialDrive.arcadeDrive(forward, turn);
+    if(!ntifTestingVelocity.get() && !ntifTestingRotation.get()){
+      arcadeDrive(forwardLimiter.calculate(forward), turnLimiter.calculate(turn));    //differentialDrive.arcadeDrive(forward, turn);
     }
   }
 
+  /**
+   * The same as {@link DifferentialDrive#arcadeDrive(double, double)} with its default deadband and
+   * squared inputs, without the WheelSpeeds it allocates every call.
+   */
+  private void arcadeDrive(double forward, double turn) {
+    forward = MathUtil.clamp(MathUtil.applyDeadband(forward, ARCADE_DEADBAND), -1.0, 1.0);
+    turn = MathUtil.clamp(MathUtil.applyDeadband(turn, ARCADE_DEADBAND), -1.0, 1.0);
+    forward = Math.copySign(forward * forward, forward);
+    turn = Math.copySign(turn * turn, turn);
+
+    double left, right;
+    double maxInput = Math.copySign(Math.max(Math.abs(forward), Math.abs(turn)), forward);
+    if((forward >= 0.0) == (turn >= 0.0)){
+      left = maxInput;
+      right = forward - turn;
+    } else {
+      left = forward + turn;
+      right = maxInput;
+    }
+    double maxMagnitude = Math.max(Math.abs(left), Math.abs(right));
+    if(maxMagnitude > 1.0){
+      left /= maxMagnitude;
+      right /= maxMagnitude;
+    }
+
+    leftLeader.set(left);
+    rightLeader.set(right);
+    m_drive.feed();
+  }
+
   public void setWheelVelocity(double left, double right){
-    setWheelVelocity(new double[]{left, 0.0}, new double[]{right, 0.0});
+    setWheelVelocity(left, 0.0, right, 0.0);
   }
 
-  public void setWheelVelocity(double[] left, double[] right){
-    setLVelocityMeters(left[0], left[1]);
-    setRVelocityMeters(right[0], right[1]);
+  public void setWheelVelocity(double leftSpeed, double leftAccel, double rightSpeed, double rightAccel){
+    setLVelocityMeters(leftSpeed, leftAccel);
+    setRVelocityMeters(rightSpeed, rightAccel);
     // setLVelocityMeters(left[0], 0);
     // setRVelocityMeters(right[0], 0);
-    System.out.println("Actual Left Speed: " + getLVelocity());
-    System.out.println("Actual right Speed: " + getRVelocity());
+    speedLog.log(getLVelocity(), getRVelocity());
 
 
     m_drive.feed();
 
   }
 
-  public void setWheelPosition(double[] left, double[] right){
-    setLPositionMeters(left[0], left[1]);
-    setRPositionMeters(right[0], right[1]);
+  public void setWheelPosition(double leftPosition, double leftAccel, double rightPosition, double rightAccel){
+    setLPositionMeters(leftPosition, leftAccel);
+    setRPositionMeters(rightPosition, rightAccel);
 
     m_drive.feed();
 
@@ -329,38 +630,32 @@ public class DriveTrain extends SubsystemBase {
 
 
   public void setLVelocityMeters(double velocity, double accel){
-    for (CANSparkMax motor : leftMotors) {
-      motor.getPIDController().setReference(velocity, ControlType.kVelocity, 0, simpleFF.calculate(velocity, accel), ArbFFUnits.kVoltage);
-    }
+    leftTargetVelocity = velocity;
+    leftLeader.setReference(velocity, ControlType.kVelocity, 0, simpleFF.calculate(velocity, accel));
   }
   public void setRVelocityMeters(double velocity, double accel){
-    for (CANSparkMax motor : rightMotors) {
-      motor.getPIDController().setReference(velocity, ControlType.kVelocity, 0, simpleFF.calculate(velocity, accel), ArbFFUnits.kVoltage);
-    }
+    rightTargetVelocity = velocity;
+    rightLeader.setReference(velocity, ControlType.kVelocity, 0, simpleFF.calculate(velocity, accel));
   }
 
   public void setLPositionMeters(double position, double accel){
-    for (CANSparkMax motor : leftMotors) {
-      motor.getPIDController().setReference(position, ControlType.kPosition, 0, simpleFF.calculate(position, accel), ArbFFUnits.kVoltage);
-    }
+    leftLeader.setReference(position, ControlType.kPosition, 0, simpleFF.calculate(position, accel));
   }
 
   public void setRPositionMeters(double position, double accel){
-    for (CANSparkMax motor : rightMotors) {
-      motor.getPIDController().setReference(position, ControlType.kPosition, 0, simpleFF.calculate(position, accel), ArbFFUnits.kVoltage);
-    }
+    rightLeader.setReference(position, ControlType.kPosition, 0, simpleFF.calculate(position, accel));
   }
 
   public double getAngleContinuous(){
-    return gyro.getRotation2d().getDegrees() * 1.039956786329005;
+    return inputs.gyroDegrees;
   }
 
   public double getLVelocity(){
-    return leftEncoder.getVelocity();
+    return inputs.leftVelocity;
   }
 
   public double getRVelocity(){
-    return rightEncoder.getVelocity();
+    return inputs.rightVelocity;
   }
   
 }
@@ -12,11 +12,19 @@ import edu.wpi.first.wpilibj.PneumaticsModuleType;
 import edu.wpi.first.wpilibj.Solenoid;
 
 import frc.robot.Constants.RobotIds;
+import frc.robot.utility.NetworkTable.NtTelemetry;
 import frc.robot.utility.NetworkTable.NtValueDisplay;
+import frc.robot.utility.LoopProfiler;
+import frc.robot.utility.actuators.CachedSolenoid;
+import frc.robot.utility.actuators.CachedSparkMax;
+import frc.robot.utility.can.SparkMaxFrames;
 
 public class Intake extends SubsystemBase {
+  private final LoopProfiler.Section profile = LoopProfiler.getInstance().section("Intake.periodic()");
+
   private final CANSparkMax intakeMotor = new CANSparkMax(RobotIds.INTAKE_MOTOR, MotorType.kBrushless);
-  private final Solenoid intakePiston = new Solenoid(PneumaticsModuleType.CTREPCM, RobotIds.INTAKE_SOLENOID);
+  private final CachedSparkMax intakeOutput = new CachedSparkMax("Intake", intakeMotor);
+  private final CachedSolenoid intakePiston = new CachedSolenoid("Intake Piston", new Solenoid(PneumaticsModuleType.CTREPCM, RobotIds.INTAKE_SOLENOID));
 
   private final int minFramesDown = 3;
 
@@ -31,10 +39,12 @@ public class Intake extends SubsystemBase {
     intakeMotor.restoreFactoryDefaults();
     intakeMotor.setOpenLoopRampRate(0.1);
     intakeMotor.setInverted(false);
+    SparkMaxFrames.VELOCITY_DISPLAY.apply(intakeMotor);
     
     NtValueDisplay.ntDispTab("Intake")
-      .add("Intake Output", this::getIntakeSpeed)
-      .add("Target Intake Output", this::getTargetIntakeSpeed);
+      .rate(NtTelemetry.Rate.HZ_10)
+      .addDouble("Intake Output", this::getIntakeSpeed)
+      .addDouble("Target Intake Output", this::getTargetIntakeSpeed);
   }
 
   public void setPiston(boolean out) {
@@ -43,6 +53,7 @@ public class Intake extends SubsystemBase {
 
   @Override
   public void periodic() {    
+    profile.start();
     // This method will be called once per scheduler run
     if (intakePiston.get()) {
       downFrames++;
@@ -50,7 +61,8 @@ public class Intake extends SubsystemBase {
       downFrames = 0;
     }
     
-    intakeMotor.set(canRunIntakeMotor() ? targetIntakeMotorOutput * (reversed ? -1: 1) : 0.0);
+    intakeOutput.set(canRunIntakeMotor() ? targetIntakeMotorOutput * (reversed ? -1: 1) : 0.0);
+    profile.stop();
   }
 
   public double getIntakeSpeed(){
@@ -7,9 +7,16 @@ package frc.robot.subsystems;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import frc.robot.Constants.VisionConstants;
+import frc.robot.state.LimelightState;
+import frc.robot.state.SensorStage;
+import frc.robot.state.StateBus;
+import frc.robot.utility.LoopProfiler;
 import static frc.robot.utility.NetworkTable.NtValueDisplay.ntDispTab;
 
-public class Limelight extends SubsystemBase {
+public class Limelight extends SubsystemBase implements SensorStage.Source {
+  private final LoopProfiler.Section profile = LoopProfiler.getInstance().section("Limelight.periodic()");
+
   /** Creates a new Limelight. */
   public static interface Controls {
     int getLimelightPipeline();
@@ -18,20 +25,23 @@ public class Limelight extends SubsystemBase {
   private final NetworkTableEntry ntX = NetworkTableInstance.getDefault().getTable("limelight").getEntry("tx");
   private final NetworkTableEntry ntY = NetworkTableInstance.getDefault().getTable("limelight").getEntry("ty");
   private final NetworkTableEntry ntV = NetworkTableInstance.getDefault().getTable("limelight").getEntry("tv");
+  private final NetworkTableEntry ntLatency = NetworkTableInstance.getDefault().getTable("limelight").getEntry("tl");
   private final NetworkTableEntry ntPipeline = NetworkTableInstance.getDefault().getTable("limelight").getEntry("pipeline");
 
   private final Controls controls;
   private boolean forceOff = true;
 
+  private long lastFrameChange = 0;
+
   public Limelight(Controls controls) {
     this.controls = controls;
     setForceOff(false);
 
     ntDispTab("Limelight")
-    .add("Distance", () -> convertAngleToDistance(getVertAngle()))
-    .add("Horizontal Angle", this::getHorizontalAngle)
-    .add("Vertical Angle", this::getVertAngle)
-    .add("Has Target", this::hasTarget);
+    .addDouble("Distance", () -> convertAngleToDistance(getVertAngle()))
+    .addDouble("Horizontal Angle", this::getHorizontalAngle)
+    .addDouble("Vertical Angle", this::getVertAngle)
+    .addBoolean("Has Target", this::hasTarget);
     ;
   }
 
@@ -63,27 +73,48 @@ public class Limelight extends SubsystemBase {
 
   public double getDistance() {
     // return -0.376023*ntY.getDouble(0.0) + 11.0681;
-    return ntY.getDouble(0.0);
+    return getVertAngle();
   }
 
   public double getHorizontalAngle() {
-    return ntX.getDouble(0.0);
+    return StateBus.LIMELIGHT.get().horizontalAngle;
   }
 
   public double getVertAngle() {
-    return ntY.getDouble(0.0);
+    return StateBus.LIMELIGHT.get().verticalAngle;
   }
 
   public boolean hasTarget(){
-    return ntV.getDouble(0.0) == 1.0;
+    return StateBus.LIMELIGHT.get().hasTarget;
   }
 
   public void setForceOff(boolean value) {
     forceOff = value;
   }
 
+  @Override
+  public void readInputs() {
+    LimelightState state = StateBus.LIMELIGHT.edit();
+    state.horizontalAngle = ntX.getDouble(0.0);
+    state.verticalAngle = ntY.getDouble(0.0);
+    state.hasTarget = ntV.getDouble(0.0) == 1.0;
+
+    // tl changes with every processed image, so it also tells a new frame from an old one
+    long latencyChange = ntLatency.getLastChange();
+    long frameChange = Math.max(latencyChange, ntX.getLastChange());
+    state.newFrame = frameChange != lastFrameChange;
+    lastFrameChange = frameChange;
+    // Counted back from when the frame's tl arrived (FPGA microseconds), not from now, so the time
+    // the entry sat waiting for this loop isn't taken for processing time
+    state.captureTimestampSeconds = latencyChange / 1e6
+        - (ntLatency.getDouble(0.0) + VisionConstants.CAPTURE_LATENCY_MS) / 1000.0;
+    StateBus.LIMELIGHT.publish();
+  }
+
   @Override
   public void periodic() {
+    profile.start();
     ntPipeline.setNumber(forceOff ? 0 : controls.getLimelightPipeline());
+    profile.stop();
   }
 }
@@ -8,23 +8,26 @@ import java.util.HashMap;
 
 import edu.wpi.first.math.filter.Debouncer;
 import edu.wpi.first.math.filter.Debouncer.DebounceType;
-import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.PneumaticsModuleType;
 import edu.wpi.first.wpilibj.Solenoid;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.Constants.RobotIds;
+import frc.robot.utility.LoopProfiler;
+import frc.robot.utility.actuators.CachedSolenoid;
+import frc.robot.state.StateBus;
 
 import java.awt.Color;
 
 public class RGBLighting extends SubsystemBase {
+  private final LoopProfiler.Section profile = LoopProfiler.getInstance().section("RGBLighting.periodic()");
+
   // a dictionary of all the colors
   private HashMap<String, boolean[]> colorsDict = new HashMap<>();
-  private Solenoid[] ledLights = new Solenoid[3];
+  private CachedSolenoid[] ledLights = new CachedSolenoid[3];
 
   private boolean climb = false;
 
-  NetworkTableInstance ntInst = NetworkTableInstance.getDefault();
 
   Debouncer climbStopDebouncer = new Debouncer(5.0, DebounceType.kRising);
   Debouncer shooterReadyDebouncer = new Debouncer(0.3, DebounceType.kRising);
@@ -35,9 +38,9 @@ public class RGBLighting extends SubsystemBase {
 
   /** Creates a new RGBLighting. */
   public RGBLighting() {
-    ledLights[0] = new Solenoid(PneumaticsModuleType.CTREPCM, RobotIds.LED_LIGHT_RED);
-    ledLights[1] = new Solenoid(PneumaticsModuleType.CTREPCM, RobotIds.LED_LIGHT_GREEN);
-    ledLights[2] = new Solenoid(PneumaticsModuleType.CTREPCM, RobotIds.LED_LIGHT_BLUE);
+    ledLights[0] = new CachedSolenoid("LED Red", new Solenoid(PneumaticsModuleType.CTREPCM, RobotIds.LED_LIGHT_RED));
+    ledLights[1] = new CachedSolenoid("LED Green", new Solenoid(PneumaticsModuleType.CTREPCM, RobotIds.LED_LIGHT_GREEN));
+    ledLights[2] = new CachedSolenoid("LED Blue", new Solenoid(PneumaticsModuleType.CTREPCM, RobotIds.LED_LIGHT_BLUE));
 
     colorsDict.put("red", new boolean[] {true, false, false});
     colorsDict.put("green", new boolean[] {false, true, false});
@@ -52,9 +55,10 @@ public class RGBLighting extends SubsystemBase {
 
   @Override
   public void periodic() {
-    boolean shooterReady = ntInst.getTable("Shooter").getEntry("Shooter Ready").getBoolean(false);
-    double climbExtension = ntInst.getTable("Climb").getEntry("Left Climb Pos").getDouble(0.0);
-    double climbVelocity = ntInst.getTable("Climb").getEntry("Left Climb Vel").getDouble(0.0);
+    profile.start();
+    boolean shooterReady = StateBus.SHOOTER.get().ready;
+    double climbExtension = StateBus.CLIMB.get().leftPositionInches;
+    double climbVelocity = StateBus.CLIMB.get().leftVelocity;
 
     if(climb && climbStopDebouncer.calculate(Math.abs(climbVelocity) < 2)) {
       setColor("cyan");
@@ -70,6 +74,7 @@ public class RGBLighting extends SubsystemBase {
       climb = true;
     }
     
+    profile.stop();
   }
 
   public void setColor(String color) {
@@ -110,9 +115,9 @@ public class RGBLighting extends SubsystemBase {
   public void blinkColor(String color) {
     // set the color of the lights
     boolean[] colorArray = colorsDict.get(color);
-    Solenoid ledRed = ledLights[0];
-    Solenoid ledGreen = ledLights[1];
-    Solenoid ledBlue = ledLights[2];
+    CachedSolenoid ledRed = ledLights[0];
+    CachedSolenoid ledGreen = ledLights[1];
+    CachedSolenoid ledBlue = ledLights[2];
 
     // blink the lights
     if(colorArray[0]) ledRed.set(debouncerRedBlink.calculate(!ledRed.get()));
@@ -5,23 +5,34 @@
 package frc.robot.subsystems;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.InvertType;
 import com.ctre.phoenix.motorcontrol.can.TalonFX;
 import com.revrobotics.CANSparkMax;
 import com.revrobotics.CANSparkMaxLowLevel.MotorType;
 
-import edu.wpi.first.networktables.NetworkTable;
-import edu.wpi.first.networktables.NetworkTableEntry;
-import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.PWM;
 
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.Constants;
+import frc.robot.state.SensorStage;
+import frc.robot.state.StateBus;
+import frc.robot.utility.LoopProfiler;
+import frc.robot.utility.actuators.CachedPWM;
+import frc.robot.utility.logging.Log;
+import frc.robot.utility.actuators.CachedSparkMax;
+import frc.robot.utility.actuators.CachedTalonFX;
+import frc.robot.utility.can.SparkMaxFrames;
+import frc.robot.utility.can.TalonFXFrames;
 
 import static frc.robot.Constants.*;
 import static frc.robot.utility.NetworkTable.NtValueDisplay.ntDispTab;
 
 
-public class Shooter extends SubsystemBase {
+public class Shooter extends SubsystemBase implements SensorStage.Source {
+  private static final Log.Site shotLog = Log.site(Log.Level.INFO, "Shot a ball", 0.0);
+
+  private final LoopProfiler.Section profile = LoopProfiler.getInstance().section("Shooter.periodic()");
+
   private final double RPMAcceptableDiff = 75;
   private final double turretAcceptableDiff = 3;
   private final double hoodAcceptableDiff = 10;
@@ -30,11 +41,13 @@ public class Shooter extends SubsystemBase {
 
   private final TalonFX shooterMotorL;
   private final TalonFX shooterMotorR;
+  private final CachedTalonFX shooterOutput;
 
   private final CANSparkMax turretMotor;
+  private final CachedSparkMax turretOutput;
 
-  private final PWM hoodServoL;
-  private final PWM hoodServoR;
+  private final CachedPWM hoodServoL;
+  private final CachedPWM hoodServoR;
 
   private double startAngle = 90;
 
@@ -42,12 +55,18 @@ public class Shooter extends SubsystemBase {
   private double targetHoodPos;
   private double targetTurretPos;
 
-  private NetworkTable ntTable;
-  private NetworkTable ntTableLimelight;
-  private NetworkTableEntry ntShooterReady;
 
   private int ballShotCount = 0;
 
+  /** Sensor values for the current loop. Read from the hardware in periodic, or set by a log replay. */
+  public static class Inputs {
+    public double shooterRpm;
+    public double turretDegrees;
+  }
+
+  private final Inputs inputs = new Inputs();
+  private boolean replaying = false;
+
   /** Creates a new Shooter. */
   public Shooter() {
     targetRPM = 0;
@@ -58,9 +77,13 @@ public class Shooter extends SubsystemBase {
     // Shooter setup
     shooterMotorL = new TalonFX(RobotIds.SHOOTER_MOTOR_LEFT);
     shooterMotorR = new TalonFX(RobotIds.SHOOTER_MOTOR_RIGHT);
+    shooterOutput = new CachedTalonFX("Shooter", shooterMotorL);
 
     turretMotor = new CANSparkMax(RobotIds.SHOOTER_TURRET_MOTOR, MotorType.kBrushless);
+    turretOutput = new CachedSparkMax("Turret", turretMotor);
     turretMotor.getEncoder().setPosition(0.0);
+    SparkMaxFrames.POSITION.apply(turretMotor);
+    inputs.turretDegrees = startAngle;
 
 
     shooterMotorL.configFactoryDefault();
@@ -74,61 +97,73 @@ public class Shooter extends SubsystemBase {
     // shooterMotorL.config_kI(0, 0.0);
     shooterMotorL.config_kD(0, 0.0);
 
-    shooterMotorR.config_kF(0, 0.047197957);
-    shooterMotorR.config_kP(0, 0.225);
-    // shooterMotorR.config_kP(0, 0.12997);
-    shooterMotorR.config_kI(0, 0.00001);
-    // shooterMotorR.config_kI(0, 0.0);
-    shooterMotorR.config_kD(0, 0.0);
-    
-    
-
     shooterMotorL.setInverted(false);
-    shooterMotorR.setInverted(true);
+    TalonFXFrames.VELOCITY_LEADER.apply(shooterMotorL);
+
+    // The right flywheel mirrors the left one, spinning the other way
+    shooterMotorR.follow(shooterMotorL);
+    shooterMotorR.setInverted(InvertType.OpposeMaster);
+    TalonFXFrames.FOLLOWER.apply(shooterMotorR);
 
 
     // Hood setup
-    hoodServoL = new PWM(RobotIds.SHOOTER_HOOD_ACTUATOR_LEFT);
-    hoodServoR = new PWM(RobotIds.SHOOTER_HOOD_ACTUATOR_RIGHT);
+    PWM hoodPWML = new PWM(RobotIds.SHOOTER_HOOD_ACTUATOR_LEFT);
+    PWM hoodPWMR = new PWM(RobotIds.SHOOTER_HOOD_ACTUATOR_RIGHT);
 
-    hoodServoL.setBounds(2.0, 1.6, 1.5, 1.4, 1.0);  // what does this do? (take out?)
-    hoodServoR.setBounds(2.0, 1.6, 1.5, 1.4, 1.0);
+    hoodPWML.setBounds(2.0, 1.6, 1.5, 1.4, 1.0);  // what does this do? (take out?)
+    hoodPWMR.setBounds(2.0, 1.6, 1.5, 1.4, 1.0);
 
-    ntTable = NetworkTableInstance.getDefault().getTable("Shooter");
-    ntTableLimelight = NetworkTableInstance.getDefault().getTable("Limelight");
-    ntShooterReady = ntTable.getEntry("Shooter Ready");
-    ntShooterReady.setBoolean(false);
+    hoodServoL = new CachedPWM("Hood Left", hoodPWML);
+    hoodServoR = new CachedPWM("Hood Right", hoodPWMR);
 
     ntDispTab("Shooter")
-      .add("Actual RPM", this::getShooterRpm)
-      .add("Target RPM", ()->(targetRPM))
+      .addDouble("Actual RPM", this::getShooterRpm)
+      .addDouble("Target RPM", ()->(targetRPM))
 
-      .add("Target Turret", () -> targetTurretPos)
-      .add("Actual Turret", this::getTurretPosDegrees)
+      .addDouble("Target Turret", () -> targetTurretPos)
+      .addDouble("Actual Turret", this::getTurretPosDegrees)
 
-      .add("Target Hood", () -> targetHoodPos)
-      .add("Actual Hood", this::getHoodPos)
+      .addDouble("Target Hood", () -> targetHoodPos)
+      .addDouble("Actual Hood", this::getHoodPos)
 
-      .add("Num Balls Shot", this::getBallShotCount)
+      .addLong("Num Balls Shot", this::getBallShotCount)
+
+      .addBoolean("Shooter Ready", this::isShooterReady)
     ;
   }
 
+  /** Stops reading the hardware. The returned inputs are filled in by the replay each loop instead. */
+  public Inputs startReplay() {
+    replaying = true;
+    return inputs;
+  }
+
+  @Override
+  public void readInputs() {
+    if(replaying) return;
+
+    inputs.shooterRpm = shooterMotorL.getSelectedSensorVelocity() * PhysicalConstants.RPM_PER_FALCON_UNIT;
+    inputs.turretDegrees = getTurretPos() / 45 / (5.33333 * 1.028571428571429) * 360 + startAngle;
+  }
+
   @Override
   public void periodic() {
+    profile.start();
     // This method will be called once per scheduler run
-    ntShooterReady.setBoolean(isShooterReady());
+
+    StateBus.SHOOTER.edit().ready = isShooterReady();
+    StateBus.SHOOTER.publish();
 
     hoodServoL.setSpeed(targetHoodPos);
     hoodServoR.setSpeed(targetHoodPos);
 
-    shooterMotorL.set(ControlMode.Velocity, targetRPM / Constants.PhysicalConstants.RPM_PER_FALCON_UNIT);
-    shooterMotorR.set(ControlMode.Velocity, targetRPM / Constants.PhysicalConstants.RPM_PER_FALCON_UNIT);
+    shooterOutput.set(ControlMode.Velocity, targetRPM / Constants.PhysicalConstants.RPM_PER_FALCON_UNIT);
     // shooterMotorL.set(ControlMode.PercentOutput, 0.5);
 
     double turretPosDiff = targetTurretPos - this.getTurretPosDegrees();
     
     if(Math.abs(turretPosDiff) < turretAcceptableDiff){
-      turretMotor.set(0.0);
+      turretOutput.set(0.0);
     }else{
       double speed = Math.abs(turretPosDiff) > turretAcceptableDiff * 3  ?
                     turretTurnSpeed :
@@ -141,10 +176,11 @@ public class Shooter extends SubsystemBase {
       speed *= Math.copySign(1, turretPosDiff);
 
       //changed
-      turretMotor.set(speed);
+      turretOutput.set(speed);
       // turretMotor.set(0.0);
     }
 
+    profile.stop();
   }
 
   public void setHoodPos(double pos) {
@@ -168,7 +204,7 @@ public class Shooter extends SubsystemBase {
   }
 
   public void increaseBallCount(){
-    System.out.println("Shot a ball");
+    shotLog.log();
     this.ballShotCount ++;
   }
 
@@ -185,7 +221,7 @@ public class Shooter extends SubsystemBase {
   }
 
   public double getShooterRpm() {
-      return shooterMotorL.getSelectedSensorVelocity() * PhysicalConstants.RPM_PER_FALCON_UNIT;
+      return inputs.shooterRpm;
   }
 
   public double getTurretPos(){
@@ -193,13 +229,13 @@ public class Shooter extends SubsystemBase {
   }
 
   public double getTurretPosDegrees(){
-    return getTurretPos() / 45 / (5.33333 * 1.028571428571429) * 360 + startAngle;
+    return inputs.turretDegrees;
   }
 
   public boolean isShooterReady(){
     // System.out.println("1:  " + (Math.abs(getShooterRpm()) > 200) + "    2:  " + (Math.abs(getShooterRpm() - targetRPM/3.454545457) < RPMAcceptableDiff) + "   3:   " + (Math.abs(targetTurretPos) < turretAcceptableDiff) + "   4:  " + (Math.abs(getHoodPos() - targetHoodPos) < hoodAcceptableDiff));
     return
-      ntTableLimelight.getEntry("Has Target").getBoolean(false) &&
+      StateBus.LIMELIGHT.get().hasTarget &&
       Math.abs(getShooterRpm()) > 2000 &&
       Math.abs(getShooterRpm() - targetRPM) < RPMAcceptableDiff &&
       Math.abs(getTurretPosDegrees() - targetTurretPos) < turretAcceptableDiff &&
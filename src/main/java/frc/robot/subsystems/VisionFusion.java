@@ -0,0 +1,125 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.Constants.ConversionConstants;
+import frc.robot.Constants.VisionConstants;
+import frc.robot.state.LimelightState;
+import frc.robot.state.StateBus;
+import frc.robot.utility.LoopProfiler;
+import frc.robot.utility.PoseHistory;
+
+import static frc.robot.utility.NetworkTable.NtValueDisplay.ntDispTab;
+
+/**
+ * Turns each new Limelight sighting of the hub into a field pose and feeds it to the drivetrain's
+ * pose estimator. The camera's distance and angle to the hub, plus the robot's heading and the
+ * turret angle, put the robot at a point on a circle around the known hub position.
+ *
+ * <p>Everything is worked out for when the image was taken: the heading is the estimate's at the
+ * capture time, and the fix is passed on with that timestamp so the estimator can replay odometry
+ * on top of it. Fixes outside the trusted distance range, or too far from where the estimate had
+ * the robot at that time, are dropped. Before any fix is used, {@link VisionConstants#SEED_FIXES}
+ * in a row have to agree on where the estimate is off by; the last of them then moves the estimate
+ * there, so one bad bearing can't become the reference every later fix is checked against.
+ *
+ * <p>Only the position comes from vision; the heading is the gyro's. That is only a field heading
+ * once autonomous has started from a known pose ({@link DriveTrain#setStartingPose}), so nothing is
+ * fused before then. Nothing is fused at all while {@link VisionConstants#FUSION_ENABLED} is off.
+ *
+ * <p>The estimate is what's shown on the field widget. Autonomous paths still follow wheel
+ * odometry.
+ */
+public class VisionFusion extends SubsystemBase {
+  private final LoopProfiler.Section profile = LoopProfiler.getInstance().section("VisionFusion.periodic()");
+
+  private final DriveTrain driveTrain;
+  private final Shooter shooter;
+
+  private final PoseHistory.Sample captured = new PoseHistory.Sample();
+
+  private boolean seeded = false;
+  // Fixes so far that agree on how far the estimate is off, and their average offset
+  private int agreeingFixes = 0;
+  private double seedOffsetX = 0.0, seedOffsetY = 0.0;
+  private long accepted = 0;
+  private long rejected = 0;
+  private double lastErrorMeters = 0.0;
+
+  /** Creates a new VisionFusion. */
+  public VisionFusion(DriveTrain driveTrain, Shooter shooter) {
+    this.driveTrain = driveTrain;
+    this.shooter = shooter;
+
+    ntDispTab("Vision")
+      .addLong("Accepted", () -> accepted)
+      .addLong("Rejected", () -> rejected)
+      .addDouble("Last Error", () -> lastErrorMeters);
+  }
+
+  @Override
+  public void periodic() {
+    profile.start();
+    LimelightState target = StateBus.LIMELIGHT.get();
+    if(VisionConstants.FUSION_ENABLED && driveTrain.hasFieldHeading() && target.newFrame && target.hasTarget){
+      fuse(target);
+    }
+    profile.stop();
+  }
+
+  private void fuse(LimelightState target) {
+    double distance = Limelight.convertAngleToDistance(target.verticalAngle) * ConversionConstants.FEET_TO_METER;
+    if(distance < VisionConstants.MIN_DISTANCE_METERS || distance > VisionConstants.MAX_DISTANCE_METERS){
+      rejected++;
+      return;
+    }
+
+    if(!driveTrain.getPoseAt(target.captureTimestampSeconds, captured)) return;
+
+    // Direction from the robot to the hub, counter-clockwise from the field's x axis. The turret
+    // is taken where it is now; it turns little in the time an image takes to process.
+    double bearing = captured.headingRadians + Math.toRadians(
+        VisionConstants.CAMERA_YAW_AT_TURRET_ZERO_DEGREES - shooter.getTurretPosDegrees() - target.horizontalAngle);
+    double x = VisionConstants.HUB_X_METERS - distance * Math.cos(bearing);
+    double y = VisionConstants.HUB_Y_METERS - distance * Math.sin(bearing);
+    Pose2d visionPose = new Pose2d(x, y, new Rotation2d(captured.headingRadians));
+
+    if(!seeded){
+      seed(visionPose, x - captured.x, y - captured.y, target.captureTimestampSeconds);
+      return;
+    }
+
+    lastErrorMeters = Math.hypot(x - captured.x, y - captured.y);
+    if(lastErrorMeters > VisionConstants.MAX_ERROR_METERS){
+      rejected++;
+      return;
+    }
+
+    double stdDev = VisionConstants.XY_STD_DEV_BASE_METERS + VisionConstants.XY_STD_DEV_PER_METER_SQUARED * distance * distance;
+    driveTrain.addVisionMeasurement(visionPose, target.captureTimestampSeconds, stdDev);
+    accepted++;
+  }
+
+  private void seed(Pose2d visionPose, double offsetX, double offsetY, double captureTimestampSeconds) {
+    if(agreeingFixes > 0
+        && Math.hypot(offsetX - seedOffsetX, offsetY - seedOffsetY) > VisionConstants.SEED_TOLERANCE_METERS){
+      // Start over from this fix
+      rejected += agreeingFixes;
+      agreeingFixes = 0;
+    }
+    seedOffsetX = (seedOffsetX * agreeingFixes + offsetX) / (agreeingFixes + 1);
+    seedOffsetY = (seedOffsetY * agreeingFixes + offsetY) / (agreeingFixes + 1);
+    agreeingFixes++;
+    if(agreeingFixes < VisionConstants.SEED_FIXES) return;
+
+    // Fixed for the capture time; the drivetrain adds on the motion since
+    if(!driveTrain.resetEstimatedPose(visionPose, captureTimestampSeconds)) return;
+    seeded = true;
+    accepted += agreeingFixes;
+  }
+}
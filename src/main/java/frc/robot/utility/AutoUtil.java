@@ -5,7 +5,9 @@
 package frc.robot.utility;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import edu.wpi.first.math.controller.SimpleMotorFeedforward;
 import edu.wpi.first.math.geometry.Pose2d;
@@ -19,13 +21,12 @@ import edu.wpi.first.math.trajectory.constraint.DifferentialDriveVoltageConstrai
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
-import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Filesystem;
 import frc.robot.Constants.PhysicalConstants;
 import frc.robot.subsystems.DriveTrain;
 /** Add your docs here. */
 public class AutoUtil {
-    private Trajectory trajectory;
+    private CompletableFuture<Trajectory> trajectory;
     private DriveTrain driveTrain;
     DifferentialDriveVoltageConstraint autoVoltageConstraint = new DifferentialDriveVoltageConstraint(
             new SimpleMotorFeedforward(PhysicalConstants.KS,
@@ -39,7 +40,7 @@ public class AutoUtil {
                     .addConstraint(autoVoltageConstraint);
 
         
-         Trajectory exampleTrajectory;
+         CompletableFuture<Trajectory> exampleTrajectory;
 
         NetworkTable table;
         NetworkTableEntry leftReference;
@@ -51,12 +52,14 @@ public class AutoUtil {
         this.driveTrain = driveTrain;
         // this.command = pathToCommand(filePath);
 
-        try {
-            this.trajectory = TrajectoryUtil
-                    .fromPathweaverJson(Filesystem.getDeployDirectory().toPath().resolve(filePath));
-        } catch (IOException ex) {
-            DriverStation.reportError("Unable to open trajectory: " + filePath, ex.getStackTrace());
-        }
+        this.trajectory = TrajectoryLoader.getInstance().submit(filePath, () -> {
+            try {
+                return TrajectoryUtil
+                        .fromPathweaverJson(Filesystem.getDeployDirectory().toPath().resolve(filePath));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
         table = NetworkTableInstance.getDefault().getTable("troubleshooting");
         leftReference = table.getEntry("left_reference");
         leftMeasurement = table.getEntry("left_measurement");
@@ -64,7 +67,7 @@ public class AutoUtil {
         rightMeasurement = table.getEntry("right_measurement");
 
         config.setReversed(false);
-        exampleTrajectory = TrajectoryGenerator.generateTrajectory(
+        exampleTrajectory = TrajectoryLoader.getInstance().submit("Example", () -> TrajectoryGenerator.generateTrajectory(
             // Start at the origin facing the +X direction
             new Pose2d(0, 0, new Rotation2d(0)),
             // Pass through these two interior waypoints, making an 's' curve path
@@ -75,7 +78,7 @@ public class AutoUtil {
             // End 3 meters straight ahead of where we started, facing forwar
             new Pose2d(8, 0, new Rotation2d(0)),
             // Pass config
-            config);
+            config));
 
     }
 
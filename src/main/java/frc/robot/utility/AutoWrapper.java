@@ -4,24 +4,21 @@
 
 package frc.robot.utility;
 
-import com.pathplanner.lib.PathPlanner;
+import java.util.concurrent.CompletableFuture;
 
 // import edu.wpi.first.math.controller.PIDController;
-import edu.wpi.first.math.controller.RamseteController;
-import edu.wpi.first.math.geometry.Transform2d;
 import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
 import edu.wpi.first.math.trajectory.Trajectory;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
-import edu.wpi.first.wpilibj.DriverStation;
 import frc.robot.Constants.PhysicalConstants;
 import frc.robot.commands.RamsexyCommand;
 import frc.robot.subsystems.DriveTrain;
 
 /** Add your docs here. */
 public class AutoWrapper implements AutoWrapperInterface {
-    private Trajectory trajectory;
+    private final CompletableFuture<Trajectory> trajectory;
     private DriveTrain driveTrain;
 
     NetworkTable table;
@@ -31,12 +28,7 @@ public class AutoWrapper implements AutoWrapperInterface {
     NetworkTableEntry rightMeasurement;
 
     public AutoWrapper(String pathName, DriveTrain driveTrain) {
-        try {
-            trajectory = PathPlanner.loadPath(pathName, PhysicalConstants.MAXSPEEDMETERS,
-                    PhysicalConstants.MAXACCELERATIONMETERS);
-        } catch (Exception ex) {
-            DriverStation.reportError("Unable to open trajectory: " + pathName, ex.getStackTrace());
-        }
+        trajectory = TrajectoryLoader.getInstance().loadPath(pathName);
         this.driveTrain = driveTrain;
 
         table = NetworkTableInstance.getDefault().getTable("troubleshooting");
@@ -48,10 +40,13 @@ public class AutoWrapper implements AutoWrapperInterface {
 
     @Override
     public Trajectory getTrajectory() {
-        Transform2d transform = driveTrain.getPose().minus(trajectory.getInitialPose());
+        // Normally finished long before auto; waits for the loader otherwise
+        return trajectory.join();
+    }
 
-        Trajectory newTrajectory = trajectory.transformBy(transform);
-        return newTrajectory;
+    @Override
+    public CompletableFuture<Trajectory> getTrajectoryFuture() {
+        return trajectory;
     }
 
     @Override
@@ -63,8 +58,8 @@ public class AutoWrapper implements AutoWrapperInterface {
 
         return new RamsexyCommand(
             this, 
-            driveTrain::getPose, 
-            new RamseteController(PhysicalConstants.kRamseteB, PhysicalConstants.kRamseteZeta),
+            driveTrain.getPoseState(), 
+            new RamseteFollower(PhysicalConstants.kRamseteB, PhysicalConstants.kRamseteZeta),
             new DifferentialDriveKinematics(PhysicalConstants.trackWidthMeters),
             driveTrain::setWheelVelocity,
             driveTrain);
@@ -4,11 +4,19 @@
 
 package frc.robot.utility;
 
+import java.util.concurrent.CompletableFuture;
+
 import edu.wpi.first.math.trajectory.Trajectory;
 import frc.robot.commands.RamsexyCommand;
 
 /** Add your docs here. */
 public interface AutoWrapperInterface {
-    public Trajectory getTrajectory(); 
+    /**
+     * @return the trajectory where the path file puts it. {@link RamsexyCommand} moves it to start
+     *     at the robot's pose as it samples.
+     */
+    public Trajectory getTrajectory();
+    /** @return the trajectory as it loads, completed with null if it couldn't be loaded */
+    public CompletableFuture<Trajectory> getTrajectoryFuture();
     public RamsexyCommand getCommand();
 }
@@ -4,14 +4,15 @@
 
 package frc.robot.utility;
 
-import edu.wpi.first.math.controller.RamseteController;
-import edu.wpi.first.math.geometry.Transform2d;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+
 import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
 import edu.wpi.first.math.trajectory.Trajectory;
 import edu.wpi.first.math.trajectory.TrajectoryUtil;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
-import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Filesystem;
 import frc.robot.Constants.PhysicalConstants;
 import frc.robot.commands.RamsexyCommand;
@@ -19,7 +20,7 @@ import frc.robot.subsystems.DriveTrain;
 
 /** Add your docs here. */
 public class AutoWrapperPathWeaver implements AutoWrapperInterface {
-    private Trajectory trajectory;
+    private final CompletableFuture<Trajectory> trajectory;
     private DriveTrain driveTrain;
 
     NetworkTable table;
@@ -29,11 +30,13 @@ public class AutoWrapperPathWeaver implements AutoWrapperInterface {
     NetworkTableEntry rightMeasurement;
 
     public AutoWrapperPathWeaver(String pathName, DriveTrain driveTrain) {
-        try {
-            trajectory = TrajectoryUtil.fromPathweaverJson(Filesystem.getDeployDirectory().toPath().resolve(pathName));
-        } catch (Exception ex) {
-            DriverStation.reportError("Unable to open trajectory: " + pathName, ex.getStackTrace());
-        }
+        trajectory = TrajectoryLoader.getInstance().submit(pathName, () -> {
+            try {
+                return TrajectoryUtil.fromPathweaverJson(Filesystem.getDeployDirectory().toPath().resolve(pathName));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
         this.driveTrain = driveTrain;
     }
 
@@ -42,19 +45,21 @@ public class AutoWrapperPathWeaver implements AutoWrapperInterface {
 
         return new RamsexyCommand(
             this, 
-            driveTrain::getPose, 
-            new RamseteController(),
+            driveTrain.getPoseState(), 
+            new RamseteFollower(),
             new DifferentialDriveKinematics(PhysicalConstants.trackWidthMeters),
-            (x, y) -> {},
+            (leftSpeed, leftAccel, rightSpeed, rightAccel) -> {},
             driveTrain);
     }
 
     @Override
     public Trajectory getTrajectory() {
-        Transform2d transform = driveTrain.getPose().minus(trajectory.getInitialPose());
+        return trajectory.join();
+    }
 
-        Trajectory newTrajectory = trajectory.transformBy(transform);
-        return newTrajectory;
+    @Override
+    public CompletableFuture<Trajectory> getTrajectoryFuture() {
+        return trajectory;
     }
 
 }
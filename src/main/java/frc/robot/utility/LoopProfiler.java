@@ -0,0 +1,323 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.sun.management.ThreadMXBean;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.Constants.TelemetryConstants;
+import frc.robot.utility.NetworkTable.NtTelemetry;
+import frc.robot.utility.NetworkTable.Tunables;
+
+/**
+ * Times each piece of the robot loop, so an overrun can be pinned on whatever actually used up the
+ * budget. Subsystems time their own periodic() through a {@link Section}; command execute() calls
+ * are timed through the scheduler's execute hook, in a section per command name. Commands should
+ * be {@link #register registered} when they're made, so their first execute() doesn't have to
+ * set one up.
+ *
+ * <p>Each section keeps a fixed-bucket histogram, so recording a time never allocates. The
+ * p50/p99/max of every section are published under "Profiler" once a second, along with the
+ * slowest section of every loop ("Top Offender") and the one that was slowest in the last loop
+ * over budget ("Last Overrun").
+ *
+ * <p>With "Profiler/Allocation Profiling" turned on, each section also counts the bytes its
+ * thread allocated, from the JVM's per-thread allocation counter. The sections are ranked by
+ * average bytes allocated per loop in "Allocation Ranking", so garbage collector pressure can be
+ * traced to whatever creates it. Reading the counter costs a little itself, so it is off by default.
+ */
+public class LoopProfiler {
+    private static final LoopProfiler instance = new LoopProfiler();
+
+    public static LoopProfiler getInstance() {
+        return instance;
+    }
+
+    /** Latency histogram with fixed-width buckets. Anything past the last bucket only counts towards max. */
+    public static class Histogram {
+        private static final int BUCKET_MICROS = 50;
+        private static final int BUCKETS = 500;
+
+        private final long[] counts = new long[BUCKETS + 1];
+        private long total = 0;
+        private long maxMicros = 0;
+
+        public void record(long micros) {
+            counts[(int) Math.min(micros / BUCKET_MICROS, BUCKETS)]++;
+            total++;
+            maxMicros = Math.max(maxMicros, micros);
+        }
+
+        /** @return the upper edge of the bucket holding the given percentile (0 to 1), in ms */
+        public double getPercentileMs(double percentile) {
+            if (total == 0) return 0.0;
+
+            long target = Math.max(1, (long) Math.ceil(percentile * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return (i + 1) * BUCKET_MICROS / 1000.0;
+                }
+            }
+            return getMaxMs();
+        }
+
+        public double getMaxMs() {
+            return maxMicros / 1000.0;
+        }
+    }
+
+    /** One timed piece of the loop. Only use it from the robot loop thread. */
+    public class Section {
+        private final String name;
+        private final Histogram histogram = new Histogram();
+        private long startMicros;
+        private long startBytes;
+        private long overruns = 0;
+        private long allocatedBytes = 0;
+
+        private Section(String name) {
+            this.name = name;
+        }
+
+        public void start() {
+            startMicros = now();
+            if (profilingAllocations) startBytes = allocatedBytes();
+        }
+
+        public void stop() {
+            long end = now();
+            record(end - startMicros);
+            lastMark = end;
+
+            if (profilingAllocations) {
+                long endBytes = allocatedBytes();
+                recordAllocation(endBytes - startBytes);
+                lastMarkBytes = endBytes;
+            }
+        }
+
+        private void recordAllocation(long bytes) {
+            allocatedBytes += Math.max(0, bytes - counterOverheadBytes);
+        }
+
+        private void record(long micros) {
+            histogram.record(micros);
+            if (micros > topMicros) {
+                topMicros = micros;
+                topSection = this;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Histogram getHistogram() {
+            return histogram;
+        }
+    }
+
+    private static final String[] NO_RANKING = new String[0];
+
+    private final Map<String, Section> sectionsByName = new HashMap<>();
+    // Weak, so commands from auto routines that were rebuilt don't stay around
+    private final Map<Command, Section> commandSections = new WeakHashMap<>();
+    private final List<Section> sections = new ArrayList<>();
+    private final Histogram loopHistogram = new Histogram();
+
+    private final ThreadMXBean threadBean;
+    private final Tunables.BooleanParam allocationProfiling;
+    private boolean profilingAllocations = false;
+    private boolean reportedUnsupported = false;
+    private long counterOverheadBytes = 0;
+    private long lastMarkBytes;
+    private long loopStartBytes;
+    private long loopAllocatedBytes = 0;
+    private long profiledLoops = 0;
+
+    private long loopStart;
+    private long lastMark;
+
+    private Section topSection = null;
+    private long topMicros = 0;
+    private long lastLoopMicros = 0;
+
+    private Section lastTopSection = null;
+    private long lastTopMicros = 0;
+    private Section lastOverrunSection = null;
+
+    private LoopProfiler() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        threadBean = bean instanceof ThreadMXBean && ((ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+            ? (ThreadMXBean) bean
+            : null;
+        allocationProfiling = Tunables.getInstance().addBoolean("Profiler", "Allocation Profiling", false);
+
+        NtTelemetry telemetry = NtTelemetry.getInstance();
+        telemetry.addDouble("Profiler", "Loop ms", NtTelemetry.Rate.HZ_50, () -> lastLoopMicros / 1000.0);
+        telemetry.add("Profiler", "Top Offender", NtTelemetry.Rate.HZ_50, () -> lastTopSection == null ? "" : lastTopSection.name);
+        telemetry.addDouble("Profiler", "Top Offender ms", NtTelemetry.Rate.HZ_50, () -> lastTopMicros / 1000.0);
+        telemetry.add("Profiler", "Last Overrun", NtTelemetry.Rate.HZ_10, () -> lastOverrunSection == null ? "" : lastOverrunSection.name);
+        publish("Loop", loopHistogram);
+        telemetry.addDouble("Profiler", "Loop Allocated Bytes", NtTelemetry.Rate.HZ_1,
+            () -> profiledLoops == 0 ? 0.0 : (double) loopAllocatedBytes / profiledLoops);
+        telemetry.add("Profiler", "Allocation Ranking", NtTelemetry.Rate.HZ_1, this::allocationRanking);
+
+        // Called right after each execute(), so the time since the last mark is that command's
+        // execute() plus the previous command's isFinished()
+        CommandScheduler.getInstance().onCommandExecute(command -> {
+            long end = now();
+            Section section = commandSections.get(command);
+            if (section == null) {
+                section = register(command);
+            }
+            section.record(end - lastMark);
+            lastMark = end;
+
+            if (profilingAllocations) {
+                long endBytes = allocatedBytes();
+                section.recordAllocation(endBytes - lastMarkBytes);
+                lastMarkBytes = endBytes;
+            }
+        });
+    }
+
+    /** Creates a section and publishes its histogram, or returns the one already made with that name. */
+    public Section section(String name) {
+        Section existing = sectionsByName.get(name);
+        if (existing != null) return existing;
+
+        Section section = new Section(name);
+        sectionsByName.put(name, section);
+        sections.add(section);
+        publish(name, section.histogram);
+        NtTelemetry.getInstance().addLong("Profiler", name + " Overruns", NtTelemetry.Rate.HZ_1, () -> section.overruns);
+        return section;
+    }
+
+    /**
+     * Sets up the section {@code command}'s execute() is timed in. Commands with the same name share
+     * one, so rebuilt commands don't add more. Call from the robot loop thread.
+     */
+    public Section register(Command command) {
+        Section section = section(command.getName() + ".execute()");
+        commandSections.put(command, section);
+        return section;
+    }
+
+    /** Call at the start of every loop. */
+    public void startLoop() {
+        updateAllocationProfiling();
+
+        loopStart = now();
+        lastMark = loopStart;
+        topSection = null;
+        topMicros = 0;
+
+        if (profilingAllocations) {
+            loopStartBytes = allocatedBytes();
+            lastMarkBytes = loopStartBytes;
+        }
+    }
+
+    /** Call at the end of every loop. Blames an overrun on the slowest section of the loop. */
+    public void endLoop() {
+        lastLoopMicros = now() - loopStart;
+        loopHistogram.record(lastLoopMicros);
+
+        lastTopSection = topSection;
+        lastTopMicros = topMicros;
+        if (lastLoopMicros > TelemetryConstants.LOOP_BUDGET_MICROS && topSection != null) {
+            topSection.overruns++;
+            lastOverrunSection = topSection;
+        }
+
+        if (profilingAllocations) {
+            loopAllocatedBytes += Math.max(0, allocatedBytes() - loopStartBytes - counterOverheadBytes);
+            profiledLoops++;
+        }
+    }
+
+    // Only switched at the start of a loop, so no section is half measured
+    private void updateAllocationProfiling() {
+        boolean wanted = allocationProfiling.get();
+        if (wanted == profilingAllocations) return;
+
+        if (wanted && threadBean == null) {
+            if (!reportedUnsupported) {
+                DriverStation.reportWarning("This JVM can't count allocations per thread; allocation profiling stays off", false);
+                reportedUnsupported = true;
+            }
+            return;
+        }
+
+        profilingAllocations = wanted;
+        if (wanted) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+            counterOverheadBytes = measureCounterOverhead();
+            for (Section section : sections) {
+                section.allocatedBytes = 0;
+            }
+            loopAllocatedBytes = 0;
+            profiledLoops = 0;
+        }
+    }
+
+    // Java 11's counter read allocates a couple of small arrays of its own, which every
+    // measurement would otherwise include
+    private long measureCounterOverhead() {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long first = allocatedBytes();
+            long second = allocatedBytes();
+            overhead = Math.min(overhead, second - first);
+        }
+        return Math.max(0, overhead);
+    }
+
+    private long allocatedBytes() {
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /** Sections that allocated anything, most bytes per loop first. Only built once a second. */
+    private String[] allocationRanking() {
+        if (profiledLoops == 0) return NO_RANKING;
+
+        List<Section> ranked = new ArrayList<>();
+        for (Section section : sections) {
+            if (section.allocatedBytes > 0) ranked.add(section);
+        }
+        ranked.sort((a, b) -> Long.compare(b.allocatedBytes, a.allocatedBytes));
+
+        String[] lines = new String[ranked.size()];
+        for (int i = 0; i < lines.length; i++) {
+            Section section = ranked.get(i);
+            lines[i] = String.format("%s: %.0f B/loop", section.name, (double) section.allocatedBytes / profiledLoops);
+        }
+        return lines;
+    }
+
+    private static void publish(String name, Histogram histogram) {
+        NtTelemetry telemetry = NtTelemetry.getInstance();
+        telemetry.addDouble("Profiler", name + " p50 ms", NtTelemetry.Rate.HZ_1, () -> histogram.getPercentileMs(0.5));
+        telemetry.addDouble("Profiler", name + " p99 ms", NtTelemetry.Rate.HZ_1, () -> histogram.getPercentileMs(0.99));
+        telemetry.addDouble("Profiler", name + " max ms", NtTelemetry.Rate.HZ_1, histogram::getMaxMs);
+    }
+
+    private static long now() {
+        return System.nanoTime() / 1000;
+    }
+}
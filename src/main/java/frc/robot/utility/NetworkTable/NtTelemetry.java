@@ -0,0 +1,418 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.NetworkTable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.smartdashboard.Field2d;
+
+/**
+ * Holds every value registered through {@link NtValueDisplay} in one flat table and publishes
+ * them all in a single pass, instead of scheduling a command per value.
+ *
+ * <p>{@link #update()} is called once per loop from {@code Robot.robotPeriodic()}. Entries whose
+ * value has not changed since the last publish are skipped. The double, boolean and long channels
+ * read through primitive suppliers and typed entry setters, so they never box.
+ *
+ * <p>Once {@link #startPublisher(double)} has been called, {@link #update()} only copies each
+ * value into a preallocated snapshot. A background {@link Notifier} picks up the latest snapshot
+ * and does the NetworkTables writes at its own rate, so the loop's cost no longer grows with the
+ * number of dashboard values.
+ *
+ * <p>Each channel is read at a {@link Rate}. Slower tiers are spread across loops so that only a
+ * fraction of them are read on any one loop; between reads the last value stays in the snapshot.
+ */
+public class NtTelemetry {
+    private static final NtTelemetry instance = new NtTelemetry();
+
+    public static NtTelemetry getInstance() {
+        return instance;
+    }
+
+    /** How often a channel is read, in robot loops. */
+    public enum Rate {
+        HZ_50(1),
+        HZ_10(5),
+        HZ_1(50);
+
+        final int loops;
+
+        Rate(int loops) {
+            this.loops = loops;
+        }
+    }
+
+    /** One loop's worth of sampled values. Booleans and longs are stored as doubles. */
+    private static class Snapshot {
+        double[] numbers = new double[64];
+        Object[] objects = new Object[16];
+
+        void ensureCapacity(int numberCount, int objectCount) {
+            if (numberCount > numbers.length) {
+                numbers = Arrays.copyOf(numbers, Math.max(numberCount, numbers.length * 2));
+            }
+            if (objectCount > objects.length) {
+                objects = Arrays.copyOf(objects, Math.max(objectCount, objects.length * 2));
+            }
+        }
+    }
+
+    private static abstract class Channel {
+        final int slot;
+        boolean published = false;
+
+        int period = 1;
+        int phase = 0;
+
+        Channel(int slot) {
+            this.slot = slot;
+        }
+
+        /** Called on the robot loop thread. */
+        abstract void sample(Snapshot snapshot);
+
+        /** Called on whichever thread publishes, never concurrently with itself. */
+        abstract void publish(Snapshot snapshot);
+    }
+
+    private static class ObjectChannel extends Channel {
+        final NetworkTableEntry entry;
+        final Supplier<Object> value;
+        Object lastValue;
+
+        ObjectChannel(int slot, NetworkTableEntry entry, Supplier<Object> value) {
+            super(slot);
+            this.entry = entry;
+            this.value = value;
+        }
+
+        @Override
+        void sample(Snapshot snapshot) {
+            snapshot.objects[slot] = value.get();
+        }
+
+        @Override
+        void publish(Snapshot snapshot) {
+            Object current = snapshot.objects[slot];
+            if (current != null && (!published || !Objects.equals(current, lastValue))) {
+                entry.setValue(current);
+                lastValue = current;
+                published = true;
+            }
+        }
+    }
+
+    private static class DoubleChannel extends Channel {
+        final NetworkTableEntry entry;
+        final DoubleSupplier value;
+        double lastValue;
+
+        DoubleChannel(int slot, NetworkTableEntry entry, DoubleSupplier value) {
+            super(slot);
+            this.entry = entry;
+            this.value = value;
+        }
+
+        @Override
+        void sample(Snapshot snapshot) {
+            snapshot.numbers[slot] = value.getAsDouble();
+        }
+
+        @Override
+        void publish(Snapshot snapshot) {
+            double current = snapshot.numbers[slot];
+            if (!published || Double.compare(current, lastValue) != 0) {
+                entry.setDouble(current);
+                lastValue = current;
+                published = true;
+            }
+        }
+    }
+
+    private static class BooleanChannel extends Channel {
+        final NetworkTableEntry entry;
+        final BooleanSupplier value;
+        boolean lastValue;
+
+        BooleanChannel(int slot, NetworkTableEntry entry, BooleanSupplier value) {
+            super(slot);
+            this.entry = entry;
+            this.value = value;
+        }
+
+        @Override
+        void sample(Snapshot snapshot) {
+            snapshot.numbers[slot] = value.getAsBoolean() ? 1.0 : 0.0;
+        }
+
+        @Override
+        void publish(Snapshot snapshot) {
+            boolean current = snapshot.numbers[slot] != 0.0;
+            if (!published || current != lastValue) {
+                entry.setBoolean(current);
+                lastValue = current;
+                published = true;
+            }
+        }
+    }
+
+    private static class LongChannel extends Channel {
+        final NetworkTableEntry entry;
+        final LongSupplier value;
+        double lastValue;
+
+        LongChannel(int slot, NetworkTableEntry entry, LongSupplier value) {
+            super(slot);
+            this.entry = entry;
+            this.value = value;
+        }
+
+        @Override
+        void sample(Snapshot snapshot) {
+            // NetworkTables stores every number as a double anyway
+            snapshot.numbers[slot] = value.getAsLong();
+        }
+
+        @Override
+        void publish(Snapshot snapshot) {
+            double current = snapshot.numbers[slot];
+            if (!published || current != lastValue) {
+                entry.setDouble(current);
+                lastValue = current;
+                published = true;
+            }
+        }
+    }
+
+    /** Mirrors a pose onto a {@link Field2d} robot object. Uses three number slots. */
+    private static class FieldPoseChannel extends Channel {
+        final Field2d field;
+        final DoubleSupplier x, y, degrees;
+        double lastX, lastY, lastDegrees;
+
+        FieldPoseChannel(int slot, Field2d field, DoubleSupplier x, DoubleSupplier y, DoubleSupplier degrees) {
+            super(slot);
+            this.field = field;
+            this.x = x;
+            this.y = y;
+            this.degrees = degrees;
+        }
+
+        @Override
+        void sample(Snapshot snapshot) {
+            snapshot.numbers[slot] = x.getAsDouble();
+            snapshot.numbers[slot + 1] = y.getAsDouble();
+            snapshot.numbers[slot + 2] = degrees.getAsDouble();
+        }
+
+        @Override
+        void publish(Snapshot snapshot) {
+            double x = snapshot.numbers[slot];
+            double y = snapshot.numbers[slot + 1];
+            double degrees = snapshot.numbers[slot + 2];
+            if (!published || x != lastX || y != lastY || degrees != lastDegrees) {
+                field.setRobotPose(x, y, Rotation2d.fromDegrees(degrees));
+                lastX = x;
+                lastY = y;
+                lastDegrees = degrees;
+                published = true;
+            }
+        }
+    }
+
+    private final Object lock = new Object();
+
+    private Channel[] channels = new Channel[64];
+    private int channelCount = 0;
+    private int numberSlots = 0;
+    private int objectSlots = 0;
+    private String[] numberSlotNames = new String[64];
+
+    private final int[] nextPhase = new int[Rate.values().length];
+    private long loopCount = 0;
+
+    // latest holds the most recent read of every channel and is only touched by the robot loop.
+    // sampleBuffer is where the loop copies it, publishBuffer belongs to the publisher thread, and
+    // readyBuffer is the newest complete snapshot handed between them. Swapped under lock.
+    private final Snapshot latest = new Snapshot();
+    private Snapshot sampleBuffer = new Snapshot();
+    private Snapshot readyBuffer = new Snapshot();
+    private Snapshot publishBuffer = new Snapshot();
+    private boolean snapshotReady = false;
+
+    private Notifier publisher = null;
+
+    private NtTelemetry() {}
+
+    public void add(String tab, String name, Rate rate, Supplier<Object> value) {
+        synchronized (lock) {
+            addChannel(new ObjectChannel(objectSlots++, getEntry(tab, name), value), rate);
+        }
+    }
+
+    public void addDouble(String tab, String name, Rate rate, DoubleSupplier value) {
+        synchronized (lock) {
+            nameNumberSlot(numberSlots, tab + "/" + name);
+            addChannel(new DoubleChannel(numberSlots++, getEntry(tab, name), value), rate);
+        }
+    }
+
+    public void addBoolean(String tab, String name, Rate rate, BooleanSupplier value) {
+        synchronized (lock) {
+            nameNumberSlot(numberSlots, tab + "/" + name);
+            addChannel(new BooleanChannel(numberSlots++, getEntry(tab, name), value), rate);
+        }
+    }
+
+    public void addLong(String tab, String name, Rate rate, LongSupplier value) {
+        synchronized (lock) {
+            nameNumberSlot(numberSlots, tab + "/" + name);
+            addChannel(new LongChannel(numberSlots++, getEntry(tab, name), value), rate);
+        }
+    }
+
+    /** Keeps the robot pose shown on {@code field} up to date, from its x and y in meters and heading in degrees. */
+    public void addFieldPose(Field2d field, DoubleSupplier x, DoubleSupplier y, DoubleSupplier degrees) {
+        synchronized (lock) {
+            nameNumberSlot(numberSlots, "Field/Robot X");
+            nameNumberSlot(numberSlots + 1, "Field/Robot Y");
+            nameNumberSlot(numberSlots + 2, "Field/Robot Degrees");
+            addChannel(new FieldPoseChannel(numberSlots, field, x, y, degrees), Rate.HZ_50);
+            numberSlots += 3;
+        }
+    }
+
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    /** Number of numeric values (doubles, booleans as 0/1, longs) held per snapshot. */
+    public int getNumberSlotCount() {
+        return numberSlots;
+    }
+
+    /** The "tab/name" a numeric slot was registered under. */
+    public String getNumberSlotName(int slot) {
+        return numberSlotNames[slot];
+    }
+
+    /** @return the numeric slot registered as "tab/name", or -1 if there isn't one */
+    public int getNumberSlot(String name) {
+        for (int i = 0; i < numberSlots; i++) {
+            if (numberSlotNames[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the latest read of every numeric slot into {@code values}. Must be called from the
+     * robot loop thread, after {@link #update()}.
+     */
+    public void copyLatestNumbers(double[] values) {
+        System.arraycopy(latest.numbers, 0, values, 0, Math.min(numberSlots, values.length));
+    }
+
+    /**
+     * Moves NetworkTables writes onto a background thread that publishes the latest snapshot
+     * every {@code periodSeconds}. Has no effect if the publisher is already running.
+     */
+    public void startPublisher(double periodSeconds) {
+        synchronized (lock) {
+            if (publisher != null) return;
+
+            publisher = new Notifier(this::publishLatest);
+            publisher.setName("NtTelemetry");
+            publisher.startPeriodic(periodSeconds);
+        }
+    }
+
+    /** Reads the channels due this loop, then either publishes directly or hands a snapshot off. */
+    public void update() {
+        long loop = loopCount++;
+        int count = channelCount;
+        for (int i = 0; i < count; i++) {
+            Channel channel = channels[i];
+            if (loop % channel.period == channel.phase) {
+                channel.sample(latest);
+            }
+        }
+
+        if (publisher == null) {
+            for (int i = 0; i < count; i++) {
+                channels[i].publish(latest);
+            }
+            return;
+        }
+
+        Snapshot snapshot = sampleBuffer;
+        System.arraycopy(latest.numbers, 0, snapshot.numbers, 0, numberSlots);
+        System.arraycopy(latest.objects, 0, snapshot.objects, 0, objectSlots);
+
+        synchronized (lock) {
+            sampleBuffer = readyBuffer;
+            readyBuffer = snapshot;
+            snapshotReady = true;
+        }
+    }
+
+    private void publishLatest() {
+        Snapshot snapshot;
+        Channel[] toPublish;
+        int count;
+
+        synchronized (lock) {
+            if (!snapshotReady) return;
+
+            snapshot = readyBuffer;
+            readyBuffer = publishBuffer;
+            publishBuffer = snapshot;
+            snapshotReady = false;
+
+            toPublish = channels;
+            count = channelCount;
+        }
+
+        for (int i = 0; i < count; i++) {
+            toPublish[i].publish(snapshot);
+        }
+    }
+
+    private static NetworkTableEntry getEntry(String tab, String name) {
+        return NetworkTableInstance.getDefault().getTable(tab).getEntry(name);
+    }
+
+    private void nameNumberSlot(int slot, String name) {
+        if (slot >= numberSlotNames.length) {
+            numberSlotNames = Arrays.copyOf(numberSlotNames, numberSlotNames.length * 2);
+        }
+        numberSlotNames[slot] = name;
+    }
+
+    private void addChannel(Channel channel, Rate rate) {
+        if (channelCount == channels.length) {
+            channels = Arrays.copyOf(channels, channels.length * 2);
+        }
+
+        // Give each slow channel the next free phase in its tier, so they don't all land on one loop
+        channel.period = rate.loops;
+        channel.phase = nextPhase[rate.ordinal()]++ % rate.loops;
+
+        latest.ensureCapacity(numberSlots + 3, objectSlots);
+        sampleBuffer.ensureCapacity(numberSlots + 3, objectSlots);
+        readyBuffer.ensureCapacity(numberSlots + 3, objectSlots);
+        publishBuffer.ensureCapacity(numberSlots + 3, objectSlots);
+
+        channels[channelCount++] = channel;
+    }
+}
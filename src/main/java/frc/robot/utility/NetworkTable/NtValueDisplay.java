@@ -4,13 +4,14 @@
 
 package frc.robot.utility.NetworkTable;
 
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
-import edu.wpi.first.wpilibj2.command.CommandScheduler;
-import frc.robot.utility.AlwaysRunCommand;
 
 /** Add your docs here. */
 public class NtValueDisplay<T> {
@@ -20,23 +21,54 @@ public class NtValueDisplay<T> {
 
     public interface DispHelper {
         DispHelper add(String name, Supplier<Object> value);
+        DispHelper addDouble(String name, DoubleSupplier value);
+        DispHelper addBoolean(String name, BooleanSupplier value);
+        DispHelper addLong(String name, LongSupplier value);
+
+        /** Sets the rate used by every value added after this call. */
+        DispHelper rate(NtTelemetry.Rate rate);
     }
 
     public static void ntDisp(String name, Supplier<Object> value){
         ntDisp("dashboard", name, value);
     }
 
+    /** Registers the value with {@link NtTelemetry}, which publishes every channel once per loop. */
     public static void ntDisp(String tab, String name, Supplier<Object> value){
-        NtValueDisplay<Object> valueDisplay = new NtValueDisplay<>(tab, name);
-
-        CommandScheduler.getInstance().schedule(new AlwaysRunCommand(() -> valueDisplay.update(value.get())));
+        NtTelemetry.getInstance().add(tab, name, NtTelemetry.Rate.HZ_50, value);
     }
 
     public static DispHelper ntDispTab(String tab) {
         return new DispHelper(){
+            private NtTelemetry.Rate rate = NtTelemetry.Rate.HZ_50;
+
             @Override
             public DispHelper add(String name, Supplier<Object> value) {
-                ntDisp(tab, name, value);
+                NtTelemetry.getInstance().add(tab, name, rate, value);
+                return this;
+            }
+
+            @Override
+            public DispHelper addDouble(String name, DoubleSupplier value) {
+                NtTelemetry.getInstance().addDouble(tab, name, rate, value);
+                return this;
+            }
+
+            @Override
+            public DispHelper addBoolean(String name, BooleanSupplier value) {
+                NtTelemetry.getInstance().addBoolean(tab, name, rate, value);
+                return this;
+            }
+
+            @Override
+            public DispHelper addLong(String name, LongSupplier value) {
+                NtTelemetry.getInstance().addLong(tab, name, rate, value);
+                return this;
+            }
+
+            @Override
+            public DispHelper rate(NtTelemetry.Rate rate) {
+                this.rate = rate;
                 return this;
             }
         };
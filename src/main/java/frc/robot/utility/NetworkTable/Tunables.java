@@ -0,0 +1,238 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.NetworkTable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.wpi.first.networktables.EntryListenerFlags;
+import edu.wpi.first.networktables.EntryNotification;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+/**
+ * Values that can be tuned from the dashboard. Instead of reading NetworkTables every loop, each
+ * parameter gets a listener that stores edits as pending. {@link #update()}, called once per loop,
+ * applies everything that changed since the last loop in one go, then runs each change listener
+ * whose parameters changed, at most once per loop.
+ *
+ * <p>While locked (see {@link #setLocked}), edits stay pending and every parameter keeps the value
+ * it had, so nothing gets reconfigured during a match. Operator parameters, registered through
+ * {@link #addOperatorDouble} and {@link #addOperatorBoolean}, are the exception: they're controls
+ * the drive team uses during a match, such as overrides, so their edits always apply.
+ */
+public class Tunables {
+    private static final Tunables instance = new Tunables();
+
+    public static Tunables getInstance() {
+        return instance;
+    }
+
+    public abstract class Param {
+        private volatile boolean changed = false;
+        private boolean applied = false;
+        boolean lockable = true;
+
+        void listen(NetworkTableEntry entry) {
+            entry.addListener(this::onEdit, EntryListenerFlags.kNew | EntryListenerFlags.kUpdate);
+        }
+
+        private void onEdit(EntryNotification notification) {
+            if (store(notification)) {
+                changed = true;
+                pending = true;
+            }
+        }
+
+        abstract boolean store(EntryNotification notification);
+
+        abstract void apply();
+    }
+
+    public final class DoubleParam extends Param {
+        private volatile double pendingValue;
+        private double value;
+
+        private DoubleParam(double defaultValue) {
+            value = defaultValue;
+            pendingValue = defaultValue;
+        }
+
+        @Override
+        boolean store(EntryNotification notification) {
+            if (!notification.value.isDouble()) return false;
+            pendingValue = notification.value.getDouble();
+            return true;
+        }
+
+        @Override
+        void apply() {
+            value = pendingValue;
+        }
+
+        public double get() {
+            return value;
+        }
+    }
+
+    public final class BooleanParam extends Param {
+        private volatile boolean pendingValue;
+        private boolean value;
+
+        private BooleanParam(boolean defaultValue) {
+            value = defaultValue;
+            pendingValue = defaultValue;
+        }
+
+        @Override
+        boolean store(EntryNotification notification) {
+            if (!notification.value.isBoolean()) return false;
+            pendingValue = notification.value.getBoolean();
+            return true;
+        }
+
+        @Override
+        void apply() {
+            value = pendingValue;
+        }
+
+        public boolean get() {
+            return value;
+        }
+    }
+
+    private static class ChangeListener {
+        final Runnable action;
+        final Param[] params;
+
+        ChangeListener(Runnable action, Param[] params) {
+            this.action = action;
+            this.params = params;
+        }
+    }
+
+    private final Map<String, Param> byName = new HashMap<>();
+    private volatile Param[] params = new Param[0];
+    private volatile ChangeListener[] listeners = new ChangeListener[0];
+
+    private volatile boolean pending = false;
+    private boolean locked = false;
+
+    private Tunables() {}
+
+    /**
+     * Registers a number under {@code table/key}, published with its default. Registering the same
+     * name again returns the existing parameter.
+     */
+    public synchronized DoubleParam addDouble(String table, String key, double defaultValue) {
+        return addDouble(table, key, defaultValue, true);
+    }
+
+    /** Registers a number the drive team changes during matches, so it is never locked. */
+    public synchronized DoubleParam addOperatorDouble(String table, String key, double defaultValue) {
+        return addDouble(table, key, defaultValue, false);
+    }
+
+    public synchronized BooleanParam addBoolean(String table, String key, boolean defaultValue) {
+        return addBoolean(table, key, defaultValue, true);
+    }
+
+    /** Registers a switch the drive team changes during matches, so it is never locked. */
+    public synchronized BooleanParam addOperatorBoolean(String table, String key, boolean defaultValue) {
+        return addBoolean(table, key, defaultValue, false);
+    }
+
+    private DoubleParam addDouble(String table, String key, double defaultValue, boolean lockable) {
+        Param existing = byName.get(table + "/" + key);
+        if (existing != null) return (DoubleParam) existing;
+
+        NetworkTableEntry entry = getEntry(table, key);
+        entry.setDouble(defaultValue);
+
+        DoubleParam param = new DoubleParam(defaultValue);
+        param.lockable = lockable;
+        register(table + "/" + key, param);
+        param.listen(entry);
+        return param;
+    }
+
+    private BooleanParam addBoolean(String table, String key, boolean defaultValue, boolean lockable) {
+        Param existing = byName.get(table + "/" + key);
+        if (existing != null) return (BooleanParam) existing;
+
+        NetworkTableEntry entry = getEntry(table, key);
+        entry.setBoolean(defaultValue);
+
+        BooleanParam param = new BooleanParam(defaultValue);
+        param.lockable = lockable;
+        register(table + "/" + key, param);
+        param.listen(entry);
+        return param;
+    }
+
+    /** Runs {@code action} from {@link #update()} on any loop where one of {@code watched} changed. */
+    public synchronized void onChange(Runnable action, Param... watched) {
+        List<ChangeListener> list = new ArrayList<>(List.of(listeners));
+        list.add(new ChangeListener(action, watched.clone()));
+        listeners = list.toArray(new ChangeListener[0]);
+    }
+
+    /**
+     * Freezes every parameter but the operator ones while {@code locked} is true. Edits made
+     * meanwhile apply once unlocked.
+     */
+    public void setLocked(boolean locked) {
+        this.locked = locked;
+    }
+
+    public boolean isLocked() {
+        return locked;
+    }
+
+    /** Applies pending edits and runs change listeners. Call once per loop, on the robot loop thread. */
+    public void update() {
+        if (!pending) return;
+        pending = false;
+
+        Param[] current = params;
+        for (Param param : current) {
+            if (!param.changed) continue;
+            if (locked && param.lockable) {
+                // Left for when the lock comes off
+                pending = true;
+                continue;
+            }
+            param.applied = true;
+            param.changed = false;
+            param.apply();
+        }
+
+        for (ChangeListener listener : listeners) {
+            for (Param param : listener.params) {
+                if (param.applied) {
+                    listener.action.run();
+                    break;
+                }
+            }
+        }
+
+        for (Param param : current) {
+            param.applied = false;
+        }
+    }
+
+    private void register(String name, Param param) {
+        byName.put(name, param);
+        List<Param> list = new ArrayList<>(List.of(params));
+        list.add(param);
+        params = list.toArray(new Param[0]);
+    }
+
+    private static NetworkTableEntry getEntry(String table, String key) {
+        return NetworkTableInstance.getDefault().getTable(table).getEntry(key);
+    }
+}
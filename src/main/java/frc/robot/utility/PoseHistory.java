@@ -0,0 +1,129 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility;
+
+/**
+ * The last few seconds of drivetrain poses, for asking where the robot was when a sensor took its
+ * reading. Samples live in parallel primitive arrays used as a ring, so {@link #add} never
+ * allocates; {@link #get} binary searches by timestamp and interpolates between the two samples
+ * around it.
+ *
+ * <p>Not thread safe. Timestamps must be added in increasing order.
+ */
+public class PoseHistory {
+    /** One pose, in meters, radians and meters per second. Reused by the caller to avoid allocating. */
+    public static class Sample {
+        public double timestampSeconds;
+        public double x;
+        public double y;
+        public double headingRadians;
+        public double leftVelocity;
+        public double rightVelocity;
+    }
+
+    private final int capacity;
+    private final double[] timestamps;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] headings;
+    private final double[] leftVelocities;
+    private final double[] rightVelocities;
+
+    // Index of the oldest sample, and how many there are
+    private int start = 0;
+    private int size = 0;
+
+    public PoseHistory(int capacity) {
+        this.capacity = capacity;
+        timestamps = new double[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+        headings = new double[capacity];
+        leftVelocities = new double[capacity];
+        rightVelocities = new double[capacity];
+    }
+
+    /** Adds a sample, overwriting the oldest one once full. */
+    public void add(double timestampSeconds, double x, double y, double headingRadians, double leftVelocity, double rightVelocity) {
+        int index;
+        if (size < capacity) {
+            index = (start + size) % capacity;
+            size++;
+        } else {
+            index = start;
+            start = (start + 1) % capacity;
+        }
+
+        timestamps[index] = timestampSeconds;
+        xs[index] = x;
+        ys[index] = y;
+        headings[index] = headingRadians;
+        leftVelocities[index] = leftVelocity;
+        rightVelocities[index] = rightVelocity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Fills {@code into} with the pose at {@code timestampSeconds}, interpolated between the samples
+     * either side of it. A time outside the history gets the oldest or newest sample.
+     *
+     * @return false if the history is empty, leaving {@code into} as it was
+     */
+    public boolean get(double timestampSeconds, Sample into) {
+        if (size == 0) return false;
+
+        // First sample at or after the timestamp, counted from the oldest
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamps[slot(middle)] < timestampSeconds) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        if (low == 0) {
+            copy(slot(0), into);
+        } else if (low == size) {
+            copy(slot(size - 1), into);
+        } else {
+            int before = slot(low - 1);
+            int after = slot(low);
+            double span = timestamps[after] - timestamps[before];
+            double t = span > 0 ? (timestampSeconds - timestamps[before]) / span : 0.0;
+
+            into.x = lerp(xs[before], xs[after], t);
+            into.y = lerp(ys[before], ys[after], t);
+            // The shorter way round, so headings either side of +-pi don't swing through 0
+            double turn = Math.IEEEremainder(headings[after] - headings[before], 2 * Math.PI);
+            into.headingRadians = Math.IEEEremainder(headings[before] + turn * t, 2 * Math.PI);
+            into.leftVelocity = lerp(leftVelocities[before], leftVelocities[after], t);
+            into.rightVelocity = lerp(rightVelocities[before], rightVelocities[after], t);
+        }
+        into.timestampSeconds = Math.max(timestamps[slot(0)], Math.min(timestampSeconds, timestamps[slot(size - 1)]));
+        return true;
+    }
+
+    private int slot(int age) {
+        return (start + age) % capacity;
+    }
+
+    private void copy(int index, Sample into) {
+        into.x = xs[index];
+        into.y = ys[index];
+        into.headingRadians = headings[index];
+        into.leftVelocity = leftVelocities[index];
+        into.rightVelocity = rightVelocities[index];
+    }
+
+    private static double lerp(double from, double to, double t) {
+        return from + (to - from) * t;
+    }
+}
@@ -31,11 +31,14 @@ public class PovNumberStepper {
         this.joystick = joystick;
         this.direction = direction;
 
+        LoopProfiler.Section profile = LoopProfiler.getInstance().section("PovNumberStepper " + direction + ".periodic()");
         CommandScheduler.getInstance().registerSubsystem(
             new Subsystem() {
                 @Override
                 public void periodic() {
+                    profile.start();
                     update();
+                    profile.stop();
                 }
             }
         );
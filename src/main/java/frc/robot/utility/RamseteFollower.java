@@ -0,0 +1,66 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility;
+
+import edu.wpi.first.math.controller.RamseteController;
+
+/**
+ * The same control law as {@link RamseteController}, taking and giving plain numbers instead of
+ * poses and ChassisSpeeds, so following a path allocates nothing. The result is read back through
+ * {@link #getLinearMetersPerSecond()} and {@link #getAngularRadiansPerSecond()}.
+ */
+public class RamseteFollower {
+    private final double b;
+    private final double zeta;
+
+    private double linear;
+    private double angular;
+
+    /** @see RamseteController#RamseteController(double, double) */
+    public RamseteFollower(double b, double zeta) {
+        this.b = b;
+        this.zeta = zeta;
+    }
+
+    /** Gains that work for most robots, the same as RamseteController's defaults. */
+    public RamseteFollower() {
+        this(2.0, 0.7);
+    }
+
+    public void calculate(double x, double y, double headingRadians,
+            double refX, double refY, double refHeadingRadians,
+            double refLinearMetersPerSecond, double refAngularRadiansPerSecond) {
+        // Error in the robot's frame
+        double cos = Math.cos(headingRadians);
+        double sin = Math.sin(headingRadians);
+        double dx = refX - x;
+        double dy = refY - y;
+        double errorX = dx * cos + dy * sin;
+        double errorY = -dx * sin + dy * cos;
+        double errorHeading = Math.IEEEremainder(refHeadingRadians - headingRadians, 2 * Math.PI);
+
+        double k = 2.0 * zeta * Math.sqrt(refAngularRadiansPerSecond * refAngularRadiansPerSecond
+                + b * refLinearMetersPerSecond * refLinearMetersPerSecond);
+
+        linear = refLinearMetersPerSecond * Math.cos(errorHeading) + k * errorX;
+        angular = refAngularRadiansPerSecond + k * errorHeading
+                + b * refLinearMetersPerSecond * sinc(errorHeading) * errorY;
+    }
+
+    public double getLinearMetersPerSecond() {
+        return linear;
+    }
+
+    public double getAngularRadiansPerSecond() {
+        return angular;
+    }
+
+    private static double sinc(double x) {
+        if (Math.abs(x) < 1e-9) {
+            return 1.0 - x * x / 6.0;
+        }
+        return Math.sin(x) / x;
+    }
+}
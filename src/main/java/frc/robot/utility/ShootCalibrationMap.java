@@ -12,11 +12,14 @@ import java.util.List;
 import java.util.Map;
 
 import frc.robot.subsystems.Limelight;
+import frc.robot.utility.logging.Log;
 
 /**
  * Add your docs here.
  */
 public class ShootCalibrationMap {
+    private static final Log.Site lookupLog = Log.site(Log.Level.DEBUG, "Calibration RPM: {} Hood: {}", 0.25);
+
     public static class OutOfBoundsException extends Throwable {
         private static final long serialVersionUID = 5786658266510778451L;
 
@@ -55,21 +58,33 @@ public class ShootCalibrationMap {
     private final List<Point> points = new ArrayList<>();
 
     public Trajectory get(double x) throws OutOfBoundsException {
-        
-        double hoodPos = -0.00002*Math.pow(x,4) - 0.0006*Math.pow(x,3) - 0.0028*x*x - 0.0128*x - 0.1396;
-        double shooterRpm = 0.1678*Math.pow(x,3) + 2.4261*x*x - 27.021*x + 3256.3;
-        System.out.println(shooterRpm +":"+hoodPos);
+        double hoodPos = getHoodPos(x);
+        double shooterRpm = getShooterRpm(x);
+        lookupLog.log(shooterRpm, hoodPos);
         return new Trajectory(shooterRpm, hoodPos);
     }
 
     public Trajectory getWithRpmAdjustment(double distance, double delta, double zeta) throws OutOfBoundsException {
-        Trajectory original = get(distance);
-        
-        
+        return new Trajectory(getShooterRpmWithAdjustment(distance, delta, zeta), getHoodPos(distance));
+    }
+
+    // The getters below return plain numbers, so they can be used every loop without allocating
+
+    public double getShooterRpm(double x) {
+        return 0.1678*Math.pow(x,3) + 2.4261*x*x - 27.021*x + 3256.3;
+    }
+
+    public double getHoodPos(double x) {
+        return -0.00002*Math.pow(x,4) - 0.0006*Math.pow(x,3) - 0.0028*x*x - 0.0128*x - 0.1396;
+    }
+
+    public double getShooterRpmWithAdjustment(double distance, double delta, double zeta) {
         // double slope = (highPoint.trajectory.shooterRpm - lowPoint.trajectory.shooterRpm) / (highPoint.distance - lowPoint.distance);
         double adjustment = delta + (delta / 100) * zeta * (distance - Limelight.convertAngleToDistance(points.get(1).distance));
 
-        return new Trajectory(original.shooterRpm + adjustment, original.hoodPos);
+        double shooterRpm = getShooterRpm(distance) + adjustment;
+        lookupLog.log(shooterRpm, getHoodPos(distance));
+        return shooterRpm;
     }
 
     public void add(double distance, Trajectory trajectory) {
@@ -5,12 +5,11 @@
 package frc.robot.utility;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-import edu.wpi.first.math.controller.RamseteController;
 import edu.wpi.first.math.controller.SimpleMotorFeedforward;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
-import edu.wpi.first.math.geometry.Transform2d;
 import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
 import edu.wpi.first.math.trajectory.Trajectory;
 import edu.wpi.first.math.trajectory.TrajectoryConfig;
@@ -23,7 +22,7 @@ import frc.robot.subsystems.DriveTrain;
 /** Add your docs here. */
 public class StraightRamseteGen implements AutoWrapperInterface {
         private final DriveTrain driveTrain;
-        private Trajectory trajectory;
+        private final CompletableFuture<Trajectory> trajectory;
 
         DifferentialDriveVoltageConstraint autoVoltageConstraint = new DifferentialDriveVoltageConstraint(
                         new SimpleMotorFeedforward(PhysicalConstants.KS,
@@ -39,23 +38,24 @@ public class StraightRamseteGen implements AutoWrapperInterface {
         public StraightRamseteGen(DriveTrain driveTrain, double targetLength) {
                 this.driveTrain = driveTrain;
                 config.setReversed(targetLength < 0);
-                trajectory = TrajectoryGenerator.generateTrajectory(
-                                // Start at the origin facing the +X direction
-                                new Pose2d(0, 0, new Rotation2d(0)),
-                                // Pass through these two interior waypoints, making an 's' curve path
-                                List.of(),
-                                // End 3 meters straight ahead of where we started, facing forwar
-                                new Pose2d(targetLength, 0, new Rotation2d(0)),
-                                // Pass config
-                                config);
+                trajectory = TrajectoryLoader.getInstance().submit("Straight " + targetLength,
+                                () -> TrajectoryGenerator.generateTrajectory(
+                                                // Start at the origin facing the +X direction
+                                                new Pose2d(0, 0, new Rotation2d(0)),
+                                                // Pass through these two interior waypoints, making an 's' curve path
+                                                List.of(),
+                                                // End 3 meters straight ahead of where we started, facing forwar
+                                                new Pose2d(targetLength, 0, new Rotation2d(0)),
+                                                // Pass config
+                                                config));
         }
 
         public RamsexyCommand getCommand() {
 
                 return new RamsexyCommand(
                                 this,
-                                driveTrain::getPose,
-                                new RamseteController(),
+                                driveTrain.getPoseState(),
+                                new RamseteFollower(),
                                 new DifferentialDriveKinematics(PhysicalConstants.trackWidthMeters),
                                 driveTrain::setWheelVelocity,
                                 driveTrain);
@@ -64,9 +64,11 @@ public class StraightRamseteGen implements AutoWrapperInterface {
 
         @Override
         public Trajectory getTrajectory() {
-                Transform2d transform = driveTrain.getPose().minus(trajectory.getInitialPose());
+                return trajectory.join();
+        }
 
-                Trajectory newTrajectory = trajectory.transformBy(transform);
-                return newTrajectory;
+        @Override
+        public CompletableFuture<Trajectory> getTrajectoryFuture() {
+                return trajectory;
         }
 }
@@ -0,0 +1,152 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.pathplanner.lib.PathPlanner;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.Filesystem;
+import frc.robot.Constants.PhysicalConstants;
+
+/**
+ * PathPlanner paths, time-parameterized ahead of time. The "generateTrajectoryCache" Gradle task
+ * runs {@link #main} before every build, writing each path in the pathplanner deploy folder to a
+ * binary file in its "cache" folder. At boot the robot maps that file and reads the states
+ * straight out of it instead of parsing the path and parameterizing it again.
+ *
+ * <p>The file name holds a key made from the speed limits, so changing them makes the robot look
+ * for a file the build hasn't made yet rather than follow an old one. The header also holds a
+ * checksum of the .path file it came from, so a path edited without a rebuild isn't used either.
+ * Either way {@link #load} returns null and the path is loaded the slow way.
+ *
+ * <p>File layout, big-endian: magic, format version, max speed, max acceleration, .path checksum,
+ * state count, then per state: time, x, y, heading (radians), velocity, acceleration, curvature.
+ */
+public final class TrajectoryCache {
+    private static final int MAGIC = 0x54524a43; // "TRJC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 4;
+    private static final int STATE_BYTES = 7 * 8;
+
+    public static final String CACHE_FOLDER = "cache";
+    private static final String EXTENSION = ".traj";
+
+    private TrajectoryCache() {}
+
+    /** @return the cached trajectory, or null when there's no cache file or it is out of date */
+    public static Trajectory load(String pathName) throws IOException {
+        Path folder = pathplannerDirectory();
+        Path file = folder.resolve(CACHE_FOLDER).resolve(fileName(pathName));
+        if (!Files.exists(file)) return null;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES
+                    || buffer.getInt() != MAGIC
+                    || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getDouble() != PhysicalConstants.MAXSPEEDMETERS
+                    || buffer.getDouble() != PhysicalConstants.MAXACCELERATIONMETERS
+                    || buffer.getLong() != checksum(folder.resolve(pathName + ".path"))) {
+                return null;
+            }
+
+            int count = buffer.getInt();
+            if (buffer.remaining() != count * STATE_BYTES) return null;
+
+            List<Trajectory.State> states = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                double time = buffer.getDouble();
+                double x = buffer.getDouble();
+                double y = buffer.getDouble();
+                double heading = buffer.getDouble();
+                double velocity = buffer.getDouble();
+                double acceleration = buffer.getDouble();
+                double curvature = buffer.getDouble();
+                states.add(new Trajectory.State(time, velocity, acceleration,
+                        new Pose2d(x, y, new Rotation2d(heading)), curvature));
+            }
+            return new Trajectory(states);
+        }
+    }
+
+    /** Cache file name for a path at the current speed limits. */
+    static String fileName(String pathName) {
+        long key = Double.doubleToLongBits(PhysicalConstants.MAXSPEEDMETERS) * 31
+                + Double.doubleToLongBits(PhysicalConstants.MAXACCELERATIONMETERS);
+        key = key * 31 + FORMAT_VERSION;
+        return pathName + "-" + Long.toHexString(key) + EXTENSION;
+    }
+
+    static void write(Path file, Trajectory trajectory, long sourceChecksum) throws IOException {
+        List<Trajectory.State> states = trajectory.getStates();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + states.size() * STATE_BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putDouble(PhysicalConstants.MAXSPEEDMETERS);
+        buffer.putDouble(PhysicalConstants.MAXACCELERATIONMETERS);
+        buffer.putLong(sourceChecksum);
+        buffer.putInt(states.size());
+        for (Trajectory.State state : states) {
+            buffer.putDouble(state.timeSeconds);
+            buffer.putDouble(state.poseMeters.getX());
+            buffer.putDouble(state.poseMeters.getY());
+            buffer.putDouble(state.poseMeters.getRotation().getRadians());
+            buffer.putDouble(state.velocityMetersPerSecond);
+            buffer.putDouble(state.accelerationMetersPerSecondSq);
+            buffer.putDouble(state.curvatureRadPerMeter);
+        }
+        Files.write(file, buffer.array());
+    }
+
+    private static long checksum(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file));
+        return crc.getValue();
+    }
+
+    private static Path pathplannerDirectory() {
+        return Filesystem.getDeployDirectory().toPath().resolve("pathplanner");
+    }
+
+    /** Rebuilds the cache folder from every .path file. Run from the project directory by Gradle. */
+    public static void main(String[] args) throws IOException {
+        Path folder = pathplannerDirectory();
+        Path cache = folder.resolve(CACHE_FOLDER);
+        Files.createDirectories(cache);
+
+        // Files for old speed limits or deleted paths would otherwise be deployed forever
+        try (DirectoryStream<Path> old = Files.newDirectoryStream(cache, "*" + EXTENSION)) {
+            for (Path file : old) {
+                Files.delete(file);
+            }
+        }
+
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(folder, "*.path")) {
+            for (Path source : paths) {
+                String fileName = source.getFileName().toString();
+                String pathName = fileName.substring(0, fileName.length() - ".path".length());
+
+                Trajectory trajectory = PathPlanner.loadPath(pathName, PhysicalConstants.MAXSPEEDMETERS,
+                        PhysicalConstants.MAXACCELERATIONMETERS);
+                write(cache.resolve(fileName(pathName)), trajectory, checksum(source));
+                System.out.println("Cached " + pathName + ": " + trajectory.getStates().size() + " states");
+            }
+        }
+    }
+}
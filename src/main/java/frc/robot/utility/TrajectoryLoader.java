@@ -0,0 +1,95 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.pathplanner.lib.PathPlanner;
+
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants.AutoConstants;
+import frc.robot.Constants.PhysicalConstants;
+import frc.robot.utility.logging.Log;
+
+/**
+ * Loads and generates trajectories on a small pool of background threads, so building the auto
+ * command groups in robotInit doesn't wait on JSON parsing and spline parameterization one path
+ * at a time. Each trajectory comes back as a future that whoever follows it joins.
+ *
+ * <p>A trajectory that fails to load is reported to the driver station and completes as null.
+ */
+public class TrajectoryLoader {
+    private static final TrajectoryLoader instance = new TrajectoryLoader();
+
+    public static TrajectoryLoader getInstance() {
+        return instance;
+    }
+
+    private static final Log.Site readyLog = Log.site(Log.Level.INFO, "Trajectory {} ready in {} ms", 0.0);
+    private static final Log.Site staleCacheLog = Log.site(Log.Level.WARN, "No up to date trajectory cache for {}, parameterizing it now", 0.0);
+    private static final Log.Site allReadyLog = Log.site(Log.Level.INFO, "All trajectories ready {} ms after the first was queued", 0.0);
+
+    private final ExecutorService executor;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile long firstQueuedNanos = 0;
+
+    private TrajectoryLoader() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(AutoConstants.TRAJECTORY_LOADER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "TrajectoryLoader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads a PathPlanner path from the deploy directory with the robot's speed limits, from its
+     * {@link TrajectoryCache} file when there's an up to date one.
+     */
+    public CompletableFuture<Trajectory> loadPath(String pathName) {
+        return submit(pathName, () -> {
+            try {
+                Trajectory cached = TrajectoryCache.load(pathName);
+                if (cached != null) return cached;
+            } catch (IOException ex) {
+                DriverStation.reportWarning("Unable to read trajectory cache for " + pathName + ": " + ex.getMessage(), false);
+            }
+
+            staleCacheLog.log(pathName);
+            return PathPlanner.loadPath(pathName, PhysicalConstants.MAXSPEEDMETERS,
+                    PhysicalConstants.MAXACCELERATIONMETERS);
+        });
+    }
+
+    /** Runs {@code generator} on the pool. {@code name} is only used for logging. */
+    public CompletableFuture<Trajectory> submit(String name, Supplier<Trajectory> generator) {
+        // Each batch is timed from its own first path, not from the first batch ever queued
+        if (outstanding.getAndIncrement() == 0) {
+            firstQueuedNanos = System.nanoTime();
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            Trajectory trajectory = null;
+            try {
+                trajectory = generator.get();
+                readyLog.log(name, (System.nanoTime() - start) / 1e6);
+            } catch (Exception ex) {
+                DriverStation.reportError("Unable to open trajectory: " + name, ex.getStackTrace());
+            }
+
+            if (outstanding.decrementAndGet() == 0) {
+                allReadyLog.log((System.nanoTime() - firstQueuedNanos) / 1e6);
+            }
+            return trajectory;
+        }, executor);
+    }
+}
@@ -0,0 +1,188 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility;
+
+import java.util.List;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+
+/**
+ * Samples a trajectory the way {@link Trajectory#sample} does, for callers whose sample times only
+ * go forwards. It remembers which segment the last sample fell in and walks on from there rather
+ * than binary searching the whole path, so a sample costs the same however long the path is. The
+ * result is kept in this object's fields, read through the getters, so sampling allocates nothing.
+ *
+ * <p>A time earlier than the last one still works, it just starts the walk over from the
+ * beginning of the path.
+ *
+ * <p>The path can also be moved to start somewhere else, giving the same poses as
+ * {@link Trajectory#transformBy} would. Only the poses that are actually sampled get moved, so
+ * starting a path doesn't mean copying every one of its states first.
+ */
+public class TrajectorySampler {
+    private List<Trajectory.State> states;
+    private int index = 0;
+
+    // Rigid move from the path's own start pose to the one it was reset to
+    private boolean relocated = false;
+    private double originX, originY;
+    private double startX, startY;
+    private double turnCos, turnSin, turn;
+
+    // The last sample
+    private double time, velocity, acceleration, curvature;
+    private double x, y, heading;
+
+    /** Starts sampling {@code trajectory} from its beginning, where it is. */
+    public void reset(Trajectory trajectory) {
+        states = trajectory.getStates();
+        index = 0;
+        relocated = false;
+    }
+
+    /** Starts sampling {@code trajectory} from its beginning, moved so it starts at {@code startPose}. */
+    public void reset(Trajectory trajectory, Pose2d startPose) {
+        reset(trajectory, startPose.getX(), startPose.getY(), startPose.getRotation().getRadians());
+    }
+
+    public void reset(Trajectory trajectory, double startX, double startY, double startHeadingRadians) {
+        reset(trajectory);
+
+        Pose2d origin = states.get(0).poseMeters;
+        originX = origin.getX();
+        originY = origin.getY();
+        this.startX = startX;
+        this.startY = startY;
+        turn = startHeadingRadians - origin.getRotation().getRadians();
+        turnCos = Math.cos(turn);
+        turnSin = Math.sin(turn);
+        relocated = true;
+    }
+
+    /** Moves to {@code timeSeconds}; the getters return the state there until the next call. */
+    public void sample(double timeSeconds) {
+        int last = states.size() - 1;
+        if (timeSeconds <= states.get(0).timeSeconds) {
+            copy(states.get(0));
+            return;
+        }
+        if (timeSeconds >= states.get(last).timeSeconds) {
+            copy(states.get(last));
+            return;
+        }
+
+        if (states.get(index).timeSeconds > timeSeconds) {
+            index = 0;
+        }
+        while (states.get(index + 1).timeSeconds < timeSeconds) {
+            index++;
+        }
+
+        Trajectory.State start = states.get(index);
+        Trajectory.State end = states.get(index + 1);
+        if (end.timeSeconds - start.timeSeconds < 1e-9) {
+            copy(end);
+            return;
+        }
+
+        interpolate(start, end, timeSeconds);
+    }
+
+    public double getTimeSeconds() {
+        return time;
+    }
+
+    public double getVelocityMetersPerSecond() {
+        return velocity;
+    }
+
+    public double getAccelerationMetersPerSecondSq() {
+        return acceleration;
+    }
+
+    public double getCurvatureRadPerMeter() {
+        return curvature;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getHeadingRadians() {
+        return heading;
+    }
+
+    /** The sampled pose as a new Pose2d, for logging and the like. */
+    public Pose2d getPose() {
+        return new Pose2d(x, y, new Rotation2d(heading));
+    }
+
+    // Same maths as Trajectory.State.interpolate: the pose moves the distance the constant
+    // acceleration over the segment would cover, rather than along it linearly in time
+    private void interpolate(Trajectory.State start, Trajectory.State end, double timeSeconds) {
+        double deltaT = timeSeconds - start.timeSeconds;
+        boolean reversing = start.velocityMetersPerSecond < 0
+            || (start.velocityMetersPerSecond == 0 && end.velocityMetersPerSecond < 0);
+
+        double distance = start.velocityMetersPerSecond * deltaT
+            + 0.5 * start.accelerationMetersPerSecondSq * deltaT * deltaT;
+        if (reversing) distance = -distance;
+
+        Pose2d from = start.poseMeters;
+        Pose2d to = end.poseMeters;
+        double dx = to.getX() - from.getX();
+        double dy = to.getY() - from.getY();
+        double segmentLength = Math.hypot(dx, dy);
+        double fraction = segmentLength < 1e-9 ? 0.0 : distance / segmentLength;
+
+        // Pose2d lerp: the start pose plus the scaled transform from start to end, in the start's frame
+        double fromHeading = from.getRotation().getRadians();
+        double cos = Math.cos(fromHeading);
+        double sin = Math.sin(fromHeading);
+        double localX = (dx * cos + dy * sin) * fraction;
+        double localY = (-dx * sin + dy * cos) * fraction;
+        double segmentTurn = to.getRotation().getRadians() - fromHeading;
+        segmentTurn = Math.IEEEremainder(segmentTurn, 2 * Math.PI);
+
+        time = timeSeconds;
+        velocity = start.velocityMetersPerSecond + start.accelerationMetersPerSecondSq * deltaT;
+        acceleration = start.accelerationMetersPerSecondSq;
+        curvature = start.curvatureRadPerMeter
+            + (end.curvatureRadPerMeter - start.curvatureRadPerMeter) * fraction;
+        place(
+            from.getX() + localX * cos - localY * sin,
+            from.getY() + localX * sin + localY * cos,
+            fromHeading + segmentTurn * fraction);
+    }
+
+    private void copy(Trajectory.State from) {
+        time = from.timeSeconds;
+        velocity = from.velocityMetersPerSecond;
+        acceleration = from.accelerationMetersPerSecondSq;
+        curvature = from.curvatureRadPerMeter;
+        place(from.poseMeters.getX(), from.poseMeters.getY(), from.poseMeters.getRotation().getRadians());
+    }
+
+    private void place(double pathX, double pathY, double pathHeading) {
+        if (!relocated) {
+            x = pathX;
+            y = pathY;
+            heading = pathHeading;
+            return;
+        }
+
+        double offsetX = pathX - originX;
+        double offsetY = pathY - originY;
+        x = startX + offsetX * turnCos - offsetY * turnSin;
+        y = startY + offsetX * turnSin + offsetY * turnCos;
+        heading = pathHeading + turn;
+    }
+}
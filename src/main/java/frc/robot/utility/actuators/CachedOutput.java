@@ -0,0 +1,67 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.actuators;
+
+import frc.robot.Constants.ActuatorConstants;
+import frc.robot.utility.NetworkTable.NtTelemetry;
+
+/**
+ * Base for the actuator wrappers. A wrapper remembers the last mode and value it sent, and only
+ * passes a write on to the device when one of them changed, or when nothing has been sent for
+ * {@link ActuatorConstants#KEEP_ALIVE_SECONDS}. Every other write is counted as suppressed; both
+ * counts are published under "Actuators".
+ */
+public abstract class CachedOutput {
+    private static final long KEEP_ALIVE_NANOS = (long) (ActuatorConstants.KEEP_ALIVE_SECONDS * 1e9);
+
+    private final String name;
+    private boolean valid = false;
+    private long lastSendNanos;
+    private long sentWrites = 0;
+    private long suppressedWrites = 0;
+
+    protected CachedOutput(String name) {
+        this.name = name;
+
+        NtTelemetry telemetry = NtTelemetry.getInstance();
+        telemetry.addLong("Actuators", name + " Sent", NtTelemetry.Rate.HZ_1, () -> sentWrites);
+        telemetry.addLong("Actuators", name + " Suppressed", NtTelemetry.Rate.HZ_1, () -> suppressedWrites);
+    }
+
+    /**
+     * Counts a write and decides whether it goes to the device.
+     *
+     * @param changed whether the mode or value differs from the last one sent
+     */
+    protected boolean shouldSend(boolean changed) {
+        long now = System.nanoTime();
+        if (valid && !changed && now - lastSendNanos < KEEP_ALIVE_NANOS) {
+            suppressedWrites++;
+            return false;
+        }
+
+        valid = true;
+        lastSendNanos = now;
+        sentWrites++;
+        return true;
+    }
+
+    /** Sends the next write whatever it is. Use after writing to the device some other way. */
+    public void invalidate() {
+        valid = false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSentWrites() {
+        return sentWrites;
+    }
+
+    public long getSuppressedWrites() {
+        return suppressedWrites;
+    }
+}
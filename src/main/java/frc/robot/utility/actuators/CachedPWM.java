@@ -0,0 +1,31 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.actuators;
+
+import edu.wpi.first.wpilibj.PWM;
+
+/** A {@link PWM} output that only writes the FPGA when the speed changes. */
+public class CachedPWM extends CachedOutput {
+    private final PWM pwm;
+
+    private double lastSpeed;
+
+    public CachedPWM(String name, PWM pwm) {
+        super(name);
+        this.pwm = pwm;
+    }
+
+    public PWM getPWM() {
+        return pwm;
+    }
+
+    public void setSpeed(double speed) {
+        boolean changed = speed != lastSpeed;
+        lastSpeed = speed;
+        if (shouldSend(changed)) {
+            pwm.setSpeed(speed);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.actuators;
+
+import edu.wpi.first.wpilibj.Solenoid;
+
+/** A {@link Solenoid} that only writes when the commanded state changes. */
+public class CachedSolenoid extends CachedOutput {
+    private final Solenoid solenoid;
+
+    private boolean lastOn;
+
+    public CachedSolenoid(String name, Solenoid solenoid) {
+        super(name);
+        this.solenoid = solenoid;
+        lastOn = solenoid.get();
+    }
+
+    public void set(boolean on) {
+        boolean changed = on != lastOn;
+        lastOn = on;
+        if (shouldSend(changed)) {
+            solenoid.set(on);
+        }
+    }
+
+    /** The last commanded state, without a call into the HAL. */
+    public boolean get() {
+        return lastOn;
+    }
+}
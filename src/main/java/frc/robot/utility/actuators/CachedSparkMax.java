@@ -0,0 +1,92 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.actuators;
+
+import com.revrobotics.CANSparkMax;
+import com.revrobotics.CANSparkMax.ControlType;
+import com.revrobotics.SparkMaxPIDController.ArbFFUnits;
+
+import edu.wpi.first.wpilibj.motorcontrol.MotorController;
+
+/**
+ * A {@link CANSparkMax} that only sends a setpoint frame when the setpoint changes. It is also a
+ * {@link MotorController}, so it can go in a MotorControllerGroup and those writes are cached too.
+ * Configuration still goes through {@link #getMotor()}.
+ */
+public class CachedSparkMax extends CachedOutput implements MotorController {
+    private final CANSparkMax motor;
+
+    private ControlType lastType = null;
+    private double lastValue;
+    private double lastArbFF;
+    private int lastSlot;
+
+    public CachedSparkMax(String name, CANSparkMax motor) {
+        super(name);
+        this.motor = motor;
+    }
+
+    public CANSparkMax getMotor() {
+        return motor;
+    }
+
+    /** Duty cycle output, -1 to 1. */
+    @Override
+    public void set(double speed) {
+        if (update(ControlType.kDutyCycle, speed, 0, 0.0)) {
+            motor.set(speed);
+        }
+    }
+
+    @Override
+    public void setVoltage(double outputVolts) {
+        if (update(ControlType.kVoltage, outputVolts, 0, 0.0)) {
+            motor.setVoltage(outputVolts);
+        }
+    }
+
+    /** Closed loop setpoint on the motor's PID controller, with a feedforward in volts. */
+    public void setReference(double value, ControlType type, int slot, double arbFFVolts) {
+        if (update(type, value, slot, arbFFVolts)) {
+            motor.getPIDController().setReference(value, type, slot, arbFFVolts, ArbFFUnits.kVoltage);
+        }
+    }
+
+    private boolean update(ControlType type, double value, int slot, double arbFF) {
+        boolean changed = type != lastType || value != lastValue || slot != lastSlot || arbFF != lastArbFF;
+        lastType = type;
+        lastValue = value;
+        lastSlot = slot;
+        lastArbFF = arbFF;
+        return shouldSend(changed);
+    }
+
+    @Override
+    public double get() {
+        return motor.get();
+    }
+
+    @Override
+    public void setInverted(boolean isInverted) {
+        motor.setInverted(isInverted);
+    }
+
+    @Override
+    public boolean getInverted() {
+        return motor.getInverted();
+    }
+
+    @Override
+    public void disable() {
+        motor.disable();
+        invalidate();
+    }
+
+    @Override
+    public void stopMotor() {
+        motor.stopMotor();
+        invalidate();
+    }
+}
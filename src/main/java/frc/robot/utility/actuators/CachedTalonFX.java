@@ -0,0 +1,42 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.actuators;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.TalonFXControlMode;
+import com.ctre.phoenix.motorcontrol.can.TalonFX;
+
+/**
+ * A {@link TalonFX} that only calls into Phoenix when the control mode or value changes. Phoenix
+ * already repeats the last control frame on its own, so what this saves is the JNI call.
+ */
+public class CachedTalonFX extends CachedOutput {
+    private final TalonFX motor;
+
+    private ControlMode lastMode = null;
+    private double lastValue;
+
+    public CachedTalonFX(String name, TalonFX motor) {
+        super(name);
+        this.motor = motor;
+    }
+
+    public TalonFX getMotor() {
+        return motor;
+    }
+
+    public void set(ControlMode mode, double value) {
+        boolean changed = mode != lastMode || value != lastValue;
+        lastMode = mode;
+        lastValue = value;
+        if (shouldSend(changed)) {
+            motor.set(mode, value);
+        }
+    }
+
+    public void set(TalonFXControlMode mode, double value) {
+        set(mode.toControlMode(), value);
+    }
+}
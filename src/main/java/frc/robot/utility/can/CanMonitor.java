@@ -0,0 +1,60 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.can;
+
+import edu.wpi.first.hal.can.CANStatus;
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.Constants.TelemetryConstants;
+import frc.robot.utility.NetworkTable.NtTelemetry;
+import frc.robot.utility.logging.Log;
+
+/**
+ * Samples the roboRIO's CAN bus status every few loops and publishes it under "CAN": bus
+ * utilization (latest and peak) and the error counters. A warning goes to the driver station
+ * while utilization stays above {@link TelemetryConstants#CAN_UTILIZATION_WARNING}.
+ */
+public class CanMonitor {
+    private static final CanMonitor instance = new CanMonitor();
+
+    public static CanMonitor getInstance() {
+        return instance;
+    }
+
+    private static final Log.Site busyLog = Log.site(Log.Level.WARN, "CAN bus utilization at {}%", 5.0);
+
+    private int loops = 0;
+
+    private double utilization = 0.0;
+    private double peakUtilization = 0.0;
+    private long busOffCount, txFullCount, receiveErrorCount, transmitErrorCount;
+
+    private CanMonitor() {
+        NtTelemetry telemetry = NtTelemetry.getInstance();
+        telemetry.addDouble("CAN", "Utilization %", NtTelemetry.Rate.HZ_10, () -> utilization * 100.0);
+        telemetry.addDouble("CAN", "Peak Utilization %", NtTelemetry.Rate.HZ_1, () -> peakUtilization * 100.0);
+        telemetry.addLong("CAN", "Bus Off", NtTelemetry.Rate.HZ_1, () -> busOffCount);
+        telemetry.addLong("CAN", "TX Full", NtTelemetry.Rate.HZ_1, () -> txFullCount);
+        telemetry.addLong("CAN", "Receive Errors", NtTelemetry.Rate.HZ_1, () -> receiveErrorCount);
+        telemetry.addLong("CAN", "Transmit Errors", NtTelemetry.Rate.HZ_1, () -> transmitErrorCount);
+    }
+
+    /** Call once per loop. Only every {@link TelemetryConstants#CAN_SAMPLE_LOOPS}th call reads the bus. */
+    public void update() {
+        if (++loops < TelemetryConstants.CAN_SAMPLE_LOOPS) return;
+        loops = 0;
+
+        CANStatus status = RobotController.getCANStatus();
+        utilization = status.percentBusUtilization;
+        peakUtilization = Math.max(peakUtilization, utilization);
+        busOffCount = status.busOffCount;
+        txFullCount = status.txFullCount;
+        receiveErrorCount = status.receiveErrorCount;
+        transmitErrorCount = status.transmitErrorCount;
+
+        if (utilization > TelemetryConstants.CAN_UTILIZATION_WARNING) {
+            busyLog.log(utilization * 100.0);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.can;
+
+import com.revrobotics.CANSparkMax;
+import com.revrobotics.REVLibError;
+import com.revrobotics.CANSparkMaxLowLevel.PeriodicFrame;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Status frame periods for a SparkMax, by what the robot reads from it. Frames nobody reads are
+ * sent as slowly as is useful for debugging, which leaves bus time for the ones that close loops.
+ *
+ * <p>kStatus0 is applied output and faults (followers track their leader's), kStatus1 velocity,
+ * current and temperature, kStatus2 position, kStatus3 the analog sensor.
+ */
+public enum SparkMaxFrames {
+    /** Drive motor that is followed and whose encoder feeds odometry. */
+    DRIVE_LEADER(10, 10, 10, 500),
+    /** Follows another motor; nothing is read from it. */
+    FOLLOWER(100, 500, 500, 500),
+    /** Position read every loop, velocity only shown on the dashboard. */
+    POSITION(20, 100, 20, 500),
+    /** Velocity only shown on the dashboard. */
+    VELOCITY_DISPLAY(100, 100, 500, 500),
+    /** Open loop output, nothing read. */
+    OUTPUT_ONLY(100, 500, 500, 500);
+
+    private final int status0, status1, status2, status3;
+
+    SparkMaxFrames(int status0, int status1, int status2, int status3) {
+        this.status0 = status0;
+        this.status1 = status1;
+        this.status2 = status2;
+        this.status3 = status3;
+    }
+
+    /** Sets the frame periods. Call after restoreFactoryDefaults(). */
+    public void apply(CANSparkMax motor) {
+        check(motor, motor.setPeriodicFramePeriod(PeriodicFrame.kStatus0, status0));
+        check(motor, motor.setPeriodicFramePeriod(PeriodicFrame.kStatus1, status1));
+        check(motor, motor.setPeriodicFramePeriod(PeriodicFrame.kStatus2, status2));
+        check(motor, motor.setPeriodicFramePeriod(PeriodicFrame.kStatus3, status3));
+    }
+
+    private void check(CANSparkMax motor, REVLibError error) {
+        if (error != REVLibError.kOk) {
+            DriverStation.reportWarning("SparkMax " + motor.getDeviceId() + " frame profile " + name() + ": " + error, false);
+        }
+    }
+}
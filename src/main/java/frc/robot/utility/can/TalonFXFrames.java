@@ -0,0 +1,54 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.can;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import com.ctre.phoenix.motorcontrol.can.TalonFX;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Status frame periods for a TalonFX, by what the robot reads from it. See {@link SparkMaxFrames}.
+ *
+ * <p>General is applied output and faults (followers track their leader's), Feedback0 the selected
+ * sensor's position and velocity, AinTempVbat temperature and bus voltage. The closed loop and
+ * motion magic target frames are never read, so every profile sends them slowly.
+ */
+public enum TalonFXFrames {
+    /** Followed by another motor, velocity read every loop. */
+    VELOCITY_LEADER(10, 20, 255),
+    /** Position and velocity read every loop, nothing follows it. */
+    SENSOR(100, 20, 255),
+    /** Follows another motor; nothing is read from it. */
+    FOLLOWER(100, 255, 255);
+
+    private static final int UNUSED_PERIOD_MS = 255;
+    private static final int TIMEOUT_MS = 50;
+
+    private final int general, feedback, ainTempVbat;
+
+    TalonFXFrames(int general, int feedback, int ainTempVbat) {
+        this.general = general;
+        this.feedback = feedback;
+        this.ainTempVbat = ainTempVbat;
+    }
+
+    /** Sets the frame periods. These reset when the controller reboots, so call it on every startup. */
+    public void apply(TalonFX motor) {
+        check(motor, motor.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, general, TIMEOUT_MS));
+        check(motor, motor.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, feedback, TIMEOUT_MS));
+        check(motor, motor.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, ainTempVbat, TIMEOUT_MS));
+        check(motor, motor.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, UNUSED_PERIOD_MS, TIMEOUT_MS));
+        check(motor, motor.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, UNUSED_PERIOD_MS, TIMEOUT_MS));
+        check(motor, motor.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, UNUSED_PERIOD_MS, TIMEOUT_MS));
+    }
+
+    private void check(TalonFX motor, ErrorCode error) {
+        if (error != ErrorCode.OK) {
+            DriverStation.reportWarning("TalonFX " + motor.getDeviceID() + " frame profile " + name() + ": " + error, false);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.logging;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.utility.NetworkTable.NtTelemetry;
+
+/**
+ * Records every numeric telemetry channel, plus any extra columns added here (driver inputs),
+ * into a fixed-size binary ring file once per loop.
+ *
+ * <p>The file is written through a {@link MappedByteBuffer}, so {@link #log()} is only a handful
+ * of memory stores and never waits on the disk. The OS writes the pages back in the background;
+ * {@link #flush()} forces them out and is meant for when the robot is disabled.
+ *
+ * <p>Layout (little endian): a header of magic, version, column count, record size, record
+ * capacity and data offset, followed by each column name as a length-prefixed UTF-8 string. Each
+ * record is a sequence number, the FPGA time in microseconds, and one double per column. Records
+ * wrap around once the file is full. Use {@link LogReader} to read it back.
+ */
+public class DataLogger {
+    static final int MAGIC = 0x4652434C; // "FRCL"
+    static final int VERSION = 1;
+    static final int HEADER_INTS = 6;
+    static final int RECORD_PREFIX_BYTES = 16;
+
+    private static final DataLogger instance = new DataLogger();
+
+    public static DataLogger getInstance() {
+        return instance;
+    }
+
+    private final List<String> extraNames = new ArrayList<>();
+    private final List<DoubleSupplier> extraValues = new ArrayList<>();
+
+    private DoubleSupplier[] extras;
+    private double[] telemetryValues;
+    private int telemetryColumns;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int recordSize;
+    private int capacity;
+    private int dataOffset;
+    private long sequence = 0;
+
+    private DataLogger() {}
+
+    public void addDouble(String name, DoubleSupplier value) {
+        if (buffer != null) {
+            DriverStation.reportWarning("DataLogger already started, not logging " + name, false);
+            return;
+        }
+        extraNames.add(name);
+        extraValues.add(value);
+    }
+
+    public void addBoolean(String name, BooleanSupplier value) {
+        addDouble(name, () -> value.getAsBoolean() ? 1.0 : 0.0);
+    }
+
+    /**
+     * Freezes the column list and maps the log file. Any file already at {@code path} is kept
+     * next to it with a ".prev" suffix. Logging stays off if the file can't be opened.
+     */
+    public void start(Path path, int fileBytes) {
+        if (buffer != null) return;
+
+        NtTelemetry telemetry = NtTelemetry.getInstance();
+        telemetryColumns = telemetry.getNumberSlotCount();
+        telemetryValues = new double[telemetryColumns];
+        extras = extraValues.toArray(new DoubleSupplier[0]);
+
+        List<byte[]> names = new ArrayList<>();
+        for (int i = 0; i < telemetryColumns; i++) {
+            names.add(telemetry.getNumberSlotName(i).getBytes(StandardCharsets.UTF_8));
+        }
+        for (String name : extraNames) {
+            names.add(name.getBytes(StandardCharsets.UTF_8));
+        }
+
+        int headerBytes = HEADER_INTS * Integer.BYTES;
+        for (byte[] name : names) {
+            headerBytes += Short.BYTES + name.length;
+        }
+
+        recordSize = RECORD_PREFIX_BYTES + names.size() * Double.BYTES;
+        dataOffset = (headerBytes + 7) & ~7;
+        capacity = (fileBytes - dataOffset) / recordSize;
+
+        try {
+            Files.createDirectories(path.getParent());
+            if (Files.exists(path)) {
+                Files.move(path, path.resolveSibling(path.getFileName() + ".prev"), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, dataOffset + (long) capacity * recordSize);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            mapped.putInt(MAGIC);
+            mapped.putInt(VERSION);
+            mapped.putInt(names.size());
+            mapped.putInt(recordSize);
+            mapped.putInt(capacity);
+            mapped.putInt(dataOffset);
+            for (byte[] name : names) {
+                mapped.putShort((short) name.length);
+                mapped.put(name);
+            }
+
+            buffer = mapped;
+        } catch (IOException ex) {
+            DriverStation.reportError("Unable to open data log: " + path, ex.getStackTrace());
+        }
+    }
+
+    /** Appends one record. Call once per loop, after {@link NtTelemetry#update()}. */
+    public void log() {
+        if (buffer == null) return;
+
+        NtTelemetry.getInstance().copyLatestNumbers(telemetryValues);
+
+        long seq = ++sequence;
+        int offset = dataOffset + (int) ((seq - 1) % capacity) * recordSize;
+
+        buffer.putLong(offset + 8, RobotController.getFPGATime());
+
+        int column = offset + RECORD_PREFIX_BYTES;
+        for (int i = 0; i < telemetryColumns; i++, column += Double.BYTES) {
+            buffer.putDouble(column, telemetryValues[i]);
+        }
+        for (int i = 0; i < extras.length; i++, column += Double.BYTES) {
+            buffer.putDouble(column, extras[i].getAsDouble());
+        }
+
+        // Written last, so a record is only valid once all of its columns are in place
+        buffer.putLong(offset, seq);
+    }
+
+    /** Forces the mapped pages out to disk. This does block, so keep it out of enabled loops. */
+    public void flush() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+}
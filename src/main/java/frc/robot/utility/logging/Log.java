@@ -0,0 +1,215 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants.LoggingConstants;
+
+/**
+ * Console logging that stays off the robot loop. Each call site owns a {@link Site}, made once
+ * with its level, message and minimum interval:
+ *
+ * <pre>
+ * private static final Log.Site speedLog = Log.site(Log.Level.DEBUG, "Speed L {} R {}", 0.25);
+ * ...
+ * speedLog.log(left, right);
+ * </pre>
+ *
+ * <p>A call below the current level, or sooner than the site's interval after its last message,
+ * returns straight away. Otherwise the arguments go into a slot of a preallocated lock-free
+ * queue. The message is only formatted and printed by the "Log" thread, so the caller never
+ * allocates or waits on console I/O. When the queue is full the message is dropped and counted.
+ */
+public final class Log {
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR
+    }
+
+    /** One place in the code that logs. Arguments fill the message's "{}" placeholders in order. */
+    public static final class Site {
+        private final Level level;
+        private final String message;
+        private final long intervalNanos;
+        private long lastNanos;
+        private long suppressed = 0;
+
+        private Site(Level level, String message, double intervalSeconds) {
+            this.level = level;
+            this.message = message;
+            this.intervalNanos = (long) (intervalSeconds * 1e9);
+            this.lastNanos = System.nanoTime() - intervalNanos;
+        }
+
+        /** For when working out the arguments costs something itself. */
+        public boolean isEnabled() {
+            return level.compareTo(Log.level) >= 0;
+        }
+
+        public void log() {
+            if (due()) offer(this, 0, false, 0, 0, null, null);
+        }
+
+        public void log(double a) {
+            if (due()) offer(this, 1, false, a, 0, null, null);
+        }
+
+        public void log(double a, double b) {
+            if (due()) offer(this, 2, false, a, b, null, null);
+        }
+
+        public void log(Object x) {
+            if (due()) offer(this, 1, true, 0, 0, x, null);
+        }
+
+        public void log(Object x, Object y) {
+            if (due()) offer(this, 2, true, 0, 0, x, y);
+        }
+
+        private boolean due() {
+            if (!isEnabled()) return false;
+
+            long now = System.nanoTime();
+            if (now - lastNanos < intervalNanos) {
+                suppressed++;
+                return false;
+            }
+            lastNanos = now;
+            return true;
+        }
+    }
+
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+
+    // Bounded multi-producer queue. A slot is free for position p when its sequence is p, and
+    // holds a message for the drain thread once its sequence is p + 1.
+    private static final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private static final AtomicLong tail = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private static final Site[] sites = new Site[CAPACITY];
+    private static final int[] argCounts = new int[CAPACITY];
+    private static final boolean[] objectArgs = new boolean[CAPACITY];
+    private static final double[] numbers = new double[CAPACITY * 2];
+    private static final Object[] objects = new Object[CAPACITY * 2];
+    private static final long[] suppressedCounts = new long[CAPACITY];
+
+    private static volatile Level level = LoggingConstants.CONSOLE_LEVEL;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+
+        Thread drainThread = new Thread(Log::drainLoop, "Log");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    private Log() {}
+
+    public static Site site(Level level, String message, double intervalSeconds) {
+        return new Site(level, message, intervalSeconds);
+    }
+
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    private static void offer(Site site, int argCount, boolean isObject, double a, double b, Object x, Object y) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & MASK);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) break;
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.incrementAndGet();
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        sites[index] = site;
+        argCounts[index] = argCount;
+        objectArgs[index] = isObject;
+        numbers[index * 2] = a;
+        numbers[index * 2 + 1] = b;
+        objects[index * 2] = x;
+        objects[index * 2 + 1] = y;
+        suppressedCounts[index] = site.suppressed;
+        site.suppressed = 0;
+
+        sequences.set(index, position + 1);
+    }
+
+    private static void drainLoop() {
+        StringBuilder text = new StringBuilder();
+        long head = 0;
+        long reportedDrops = 0;
+
+        while (true) {
+            int index = (int) (head & MASK);
+            if (sequences.get(index) != head + 1) {
+                long drops = dropped.get();
+                if (drops != reportedDrops) {
+                    System.out.println("Log queue full, " + (drops - reportedDrops) + " messages dropped");
+                    reportedDrops = drops;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                continue;
+            }
+
+            Site site = sites[index];
+            format(text, site.message, argCounts[index], index);
+            if (suppressedCounts[index] > 0) {
+                text.append(" (").append(suppressedCounts[index]).append(" skipped)");
+            }
+            objects[index * 2] = null;
+            objects[index * 2 + 1] = null;
+            sites[index] = null;
+
+            sequences.set(index, head + CAPACITY);
+            head++;
+
+            switch (site.level) {
+                case ERROR:
+                    DriverStation.reportError(text.toString(), false);
+                    break;
+                case WARN:
+                    DriverStation.reportWarning(text.toString(), false);
+                    break;
+                default:
+                    System.out.println(text);
+            }
+        }
+    }
+
+    private static void format(StringBuilder text, String message, int argCount, int index) {
+        text.setLength(0);
+        int arg = 0;
+        int start = 0;
+        int placeholder;
+        while (arg < argCount && (placeholder = message.indexOf("{}", start)) >= 0) {
+            text.append(message, start, placeholder);
+            if (objectArgs[index]) {
+                text.append(objects[index * 2 + arg]);
+            } else {
+                text.append(numbers[index * 2 + arg]);
+            }
+            arg++;
+            start = placeholder + 2;
+        }
+        text.append(message, start, message.length());
+    }
+}
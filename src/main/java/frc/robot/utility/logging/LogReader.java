@@ -0,0 +1,128 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.logging;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads a file written by {@link DataLogger} back as columns, oldest record first. Only uses
+ * plain Java, so it works on a laptop as well as on the robot.
+ */
+public class LogReader {
+    private final MappedByteBuffer buffer;
+    private final List<String> columnNames;
+    private final int[] recordOffsets;
+
+    private LogReader(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.getInt() != DataLogger.MAGIC || buffer.getInt() != DataLogger.VERSION) {
+            throw new IOException("Not a data log, or written by a different version");
+        }
+        int columnCount = buffer.getInt();
+        int recordSize = buffer.getInt();
+        int capacity = buffer.getInt();
+        int dataOffset = buffer.getInt();
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < columnCount; i++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            names.add(new String(name, StandardCharsets.UTF_8));
+        }
+        columnNames = Collections.unmodifiableList(names);
+
+        long lastSeq = 0;
+        for (int i = 0; i < capacity; i++) {
+            lastSeq = Math.max(lastSeq, buffer.getLong(dataOffset + i * recordSize));
+        }
+
+        // The ring holds at most the last `capacity` records; skip any slot that was never written
+        long firstSeq = Math.max(1, lastSeq - capacity + 1);
+        int[] offsets = new int[(int) (lastSeq - firstSeq + 1)];
+        int count = 0;
+        for (long seq = firstSeq; seq <= lastSeq; seq++) {
+            int offset = dataOffset + (int) ((seq - 1) % capacity) * recordSize;
+            if (buffer.getLong(offset) == seq) {
+                offsets[count++] = offset;
+            }
+        }
+        recordOffsets = Arrays.copyOf(offsets, count);
+    }
+
+    public static LogReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new LogReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public int getRecordCount() {
+        return recordOffsets.length;
+    }
+
+    /** @return the column's index, or -1 if the log doesn't have it */
+    public int getColumnIndex(String name) {
+        return columnNames.indexOf(name);
+    }
+
+    /** FPGA time of every record, in microseconds. */
+    public long[] getTimestamps() {
+        long[] timestamps = new long[recordOffsets.length];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = buffer.getLong(recordOffsets[i] + 8);
+        }
+        return timestamps;
+    }
+
+    public double[] getDoubles(String column) {
+        int index = requireColumn(column);
+        double[] values = new double[recordOffsets.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getDouble(i, index);
+        }
+        return values;
+    }
+
+    public boolean[] getBooleans(String column) {
+        int index = requireColumn(column);
+        boolean[] values = new boolean[recordOffsets.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getDouble(i, index) != 0.0;
+        }
+        return values;
+    }
+
+    /** Reads a single value, for walking the log record by record. */
+    public double getDouble(int record, int column) {
+        return buffer.getDouble(recordOffsets[record] + DataLogger.RECORD_PREFIX_BYTES + column * Double.BYTES);
+    }
+
+    public long getTimestamp(int record) {
+        return buffer.getLong(recordOffsets[record] + 8);
+    }
+
+    private int requireColumn(String column) {
+        int index = getColumnIndex(column);
+        if (index < 0) {
+            throw new IllegalArgumentException("No column named " + column);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,181 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.utility.logging;
+
+import java.util.Arrays;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.simulation.DIOSim;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import frc.robot.RobotContainer;
+import frc.robot.Constants.LoggingConstants;
+import frc.robot.controls.replay.ReplayControls;
+import frc.robot.subsystems.DriveTrain;
+import frc.robot.subsystems.Shooter;
+import frc.robot.utility.NetworkTable.NtTelemetry;
+
+/**
+ * Runs the robot code in simulation against a recorded match, one loop per log record, as fast as
+ * the code allows. The recorded encoders, gyro, shooter sensors, Limelight values, conveyor sensor,
+ * robot mode and driver inputs are fed in before each loop. Afterwards the outputs the code
+ * computed are compared with the ones in the log.
+ */
+public class LogReplay {
+    private static final String[] OUTPUTS = {
+        "Drivetrain/Left Output",
+        "Drivetrain/Right Output",
+        "Drivetrain/Left Target Speed",
+        "Drivetrain/Right Target Speed",
+        "Shooter/Target RPM",
+        "Shooter/Target Turret",
+        "Shooter/Target Hood",
+        "Shooter/Num Balls Shot",
+        "Conveyor/Output",
+        "Conveyor/Overhead Output",
+    };
+
+    private final LogReader log;
+    private final ReplayControls controls;
+    private final DriveTrain.Inputs drive;
+    private final Shooter.Inputs shooter;
+
+    private final NetworkTableEntry limelightX, limelightY, limelightV;
+    private final DIOSim conveyorSensor = new DIOSim(RobotContainer.conveyorSensor);
+
+    private final int enabled, autonomous;
+    private final int leftPosition, rightPosition, leftVelocity, rightVelocity, gyroDegrees;
+    private final int shooterRpm, turretDegrees;
+    private final int horizontalAngle, verticalAngle, hasTarget;
+    private final int ballDetected;
+
+    public LogReplay(LogReader log, ReplayControls controls, DriveTrain.Inputs drive, Shooter.Inputs shooter) {
+        this.log = log;
+        this.controls = controls;
+        this.drive = drive;
+        this.shooter = shooter;
+
+        NetworkTable limelight = NetworkTableInstance.getDefault().getTable("limelight");
+        limelightX = limelight.getEntry("tx");
+        limelightY = limelight.getEntry("ty");
+        limelightV = limelight.getEntry("tv");
+
+        enabled = log.getColumnIndex("DriverStation/Enabled");
+        autonomous = log.getColumnIndex("DriverStation/Autonomous");
+        leftPosition = log.getColumnIndex("Drivetrain/Left Position");
+        rightPosition = log.getColumnIndex("Drivetrain/Right Position");
+        leftVelocity = log.getColumnIndex("Drivetrain/L Actual Speed");
+        rightVelocity = log.getColumnIndex("Drivetrain/R Actual Speed");
+        gyroDegrees = log.getColumnIndex("Drivetrain/Degrees");
+        shooterRpm = log.getColumnIndex("Shooter/Actual RPM");
+        turretDegrees = log.getColumnIndex("Shooter/Actual Turret");
+        horizontalAngle = log.getColumnIndex("Limelight/Horizontal Angle");
+        verticalAngle = log.getColumnIndex("Limelight/Vertical Angle");
+        hasTarget = log.getColumnIndex("Limelight/Has Target");
+        ballDetected = log.getColumnIndex("Conveyor/Ball Detected");
+    }
+
+    /**
+     * Replays every record through {@code loop}, which should run one full robot loop, and prints
+     * how far each output drifted from the log.
+     *
+     * @return true if every logged output was reproduced within tolerance
+     */
+    public boolean run(Runnable loop) {
+        NtTelemetry telemetry = NtTelemetry.getInstance();
+        int[] slots = new int[OUTPUTS.length];
+        int[] columns = new int[OUTPUTS.length];
+        for (int i = 0; i < OUTPUTS.length; i++) {
+            slots[i] = telemetry.getNumberSlot(OUTPUTS[i]);
+            columns[i] = log.getColumnIndex(OUTPUTS[i]);
+        }
+
+        double[] maxError = new double[OUTPUTS.length];
+        int[] firstMismatch = new int[OUTPUTS.length];
+        Arrays.fill(firstMismatch, -1);
+        double[] computed = new double[telemetry.getNumberSlotCount()];
+
+        // Time only moves when a record says it did
+        SimHooks.pauseTiming();
+        DriverStationSim.setDsAttached(true);
+
+        int records = log.getRecordCount();
+        long[] timestamps = log.getTimestamps();
+        boolean wasEnabled = false;
+        boolean wasAutonomous = false;
+
+        for (int record = 0; record < records; record++) {
+            if (record > 0) {
+                SimHooks.stepTiming((timestamps[record] - timestamps[record - 1]) * 1e-6);
+            }
+
+            boolean isEnabled = flag(record, enabled);
+            boolean isAutonomous = flag(record, autonomous);
+            if (record == 0 || isEnabled != wasEnabled || isAutonomous != wasAutonomous) {
+                DriverStationSim.setEnabled(isEnabled);
+                DriverStationSim.setAutonomous(isAutonomous);
+                DriverStationSim.notifyNewData();
+                wasEnabled = isEnabled;
+                wasAutonomous = isAutonomous;
+            }
+
+            controls.setRecord(record);
+
+            drive.leftPosition = value(record, leftPosition);
+            drive.rightPosition = value(record, rightPosition);
+            drive.leftVelocity = value(record, leftVelocity);
+            drive.rightVelocity = value(record, rightVelocity);
+            drive.gyroDegrees = value(record, gyroDegrees);
+
+            shooter.shooterRpm = value(record, shooterRpm);
+            shooter.turretDegrees = value(record, turretDegrees);
+
+            limelightX.setDouble(value(record, horizontalAngle));
+            limelightY.setDouble(value(record, verticalAngle));
+            limelightV.setDouble(value(record, hasTarget));
+
+            // The sensor reads low when a ball is in front of it
+            conveyorSensor.setValue(!flag(record, ballDetected));
+
+            loop.run();
+
+            telemetry.copyLatestNumbers(computed);
+            for (int i = 0; i < OUTPUTS.length; i++) {
+                if (slots[i] < 0 || columns[i] < 0) continue;
+
+                double error = Math.abs(computed[slots[i]] - log.getDouble(record, columns[i]));
+                maxError[i] = Math.max(maxError[i], error);
+                if (error > LoggingConstants.REPLAY_TOLERANCE && firstMismatch[i] < 0) {
+                    firstMismatch[i] = record;
+                }
+            }
+        }
+
+        boolean matched = true;
+        System.out.println("Replayed " + records + " records");
+        for (int i = 0; i < OUTPUTS.length; i++) {
+            if (slots[i] < 0 || columns[i] < 0) {
+                System.out.println("  " + OUTPUTS[i] + ": not in log");
+            } else if (firstMismatch[i] < 0) {
+                System.out.println("  " + OUTPUTS[i] + ": matches");
+            } else {
+                matched = false;
+                System.out.println("  " + OUTPUTS[i] + ": max error " + maxError[i]
+                    + ", first differs at record " + firstMismatch[i]);
+            }
+        }
+        return matched;
+    }
+
+    private double value(int record, int column) {
+        return column < 0 ? 0.0 : log.getDouble(record, column);
+    }
+
+    private boolean flag(int record, int column) {
+        return value(record, column) != 0.0;
+    }
+}